@@ -0,0 +1,342 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a list using generic arguments, and a growable circular
+ * array. The capacity is always a power of two so positions can be wrapped
+ * with a mask instead of a modulo, and adding or removing at either end does
+ * not allocate once the array is large enough.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this deque
+ */
+
+public class ArrayDeque<E> implements ListI<E>, MemoryFootprint
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private E[] elements;
+    private int head, currentSize;
+
+    public ArrayDeque()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty deque able to hold at least the given number of
+     * elements before it has to grow.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayDeque(final int capacity)
+    {
+        elements = (E[]) new Object[RingBuffers.capacityFor(capacity)];
+        head = currentSize = 0;
+    }
+
+    /**
+     * Adds an object to the beginning of the list.
+     *
+     * @param obj the object to be added to the list.
+     */
+    @Override
+    public void addFirst(final E obj)
+    {
+        if (currentSize == elements.length)
+        {
+            grow();
+        }
+        head = RingBuffers.wrap(head - 1, elements.length);
+        elements[head] = obj;
+        currentSize++;
+    }
+
+    /**
+     * Adds an object to the end of the list.
+     *
+     * @param obj the object to be added to the list.
+     */
+    @Override
+    public void addLast(final E obj)
+    {
+        if (currentSize == elements.length)
+        {
+            grow();
+        }
+        elements[RingBuffers.wrap(head + currentSize, elements.length)] = obj;
+        currentSize++;
+    }
+
+    /**
+     * Removes the first Object in the list and returns it.
+     * Returns null if the list is empty.
+     *
+     * @return the object removed.
+     */
+    @Override
+    public E removeFirst()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final E tmp = elements[head];
+        elements[head] = null;
+        head = RingBuffers.wrap(head + 1, elements.length);
+        currentSize--;
+        return tmp;
+    }
+
+    /**
+     * Removes the last Object in the list and returns it.
+     * Returns null if the list is empty.
+     *
+     * @return the object removed.
+     */
+    @Override
+    public E removeLast()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final int last = RingBuffers.wrap(head + currentSize - 1, elements.length);
+        final E tmp = elements[last];
+        elements[last] = null;
+        currentSize--;
+        return tmp;
+    }
+
+    /**
+     * Returns the first Object in the list, but does not remove it.
+     * Returns null if the list is empty.
+     *
+     * @return the object at the beginning of the list.
+     */
+    @Override
+    public E peekFirst()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        return elements[head];
+    }
+
+    /**
+     * Returns the last Object in the list, but does not remove it.
+     * Returns null if the list is empty.
+     *
+     * @return the object at the end of the list.
+     */
+    @Override
+    public E peekLast()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        return elements[RingBuffers.wrap(head + currentSize - 1, elements.length)];
+    }
+
+    /**
+     * Return the list to an empty state. The slots that were in use are
+     * cleared so the removed objects can be collected.
+     */
+    @Override
+    public void makeEmpty()
+    {
+        if (isEmpty())
+        {
+            return;
+        }
+        for (int i = 0; i < currentSize; i++)
+        {
+            elements[RingBuffers.wrap(head + i, elements.length)] = null;
+        }
+        head = currentSize = 0;
+    }
+
+    /**
+     * Test whether the list is empty.
+     *
+     * @return true if the list is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Test whether the list is full. The array grows on demand, so this
+     * list is never full.
+     *
+     * @return true if the list is full, otherwise false
+     */
+    @Override
+    public boolean isFull()
+    {
+        return false;
+    }
+
+    /**
+     * Returns the number of Objects currently in the list.
+     *
+     * @return the number of Objects currently in the list.
+     */
+    @Override
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Test whether the list contains an object. This will use the object's
+     * compareTo method to determine whether two objects are the same.
+     *
+     * @param obj The object to look for in the list
+     * @return true if the object is found in the list, false if it is not found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(final E obj)
+    {
+        for (int i = 0; i < currentSize; i++)
+        {
+            if (((Comparable<E>) obj).compareTo(elements[RingBuffers.wrap(head + i, elements.length)]) == 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an Iterator of the values in the list, presented in
+     * the same order as the list.
+     *
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Estimates the shallow footprint of the deque: the deque itself and its
+     * whole array, including the unused slots.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        return ObjectLayout.objectSize(1, 2, 0, 0) + ObjectLayout.referenceArraySize(elements.length);
+    }
+
+    /**
+     * Adds a run of objects from an array to the end of the list, growing
+     * the array up front if needed and copying the run in at most two
+     * pieces.
+     *
+     * @param source the array holding the objects to be added.
+     * @param offset the index of the first object to add.
+     * @param length the number of objects to add.
+     */
+    @Override
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        if (offset < 0 || length < 0 || offset + length > source.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        while (elements.length - currentSize < length)
+        {
+            grow();
+        }
+        final int start = RingBuffers.wrap(head + currentSize, elements.length);
+        final int firstPart = Math.min(length, elements.length - start);
+        System.arraycopy(source, offset, elements, start, firstPart);
+        System.arraycopy(source, offset + firstPart, elements, 0, length - firstPart);
+        currentSize += length;
+    }
+
+    /**
+     * Removes up to max Objects from the beginning of the list and stores
+     * them in the array starting at offset, copying in at most two pieces.
+     *
+     * @param target the array to store the removed objects in.
+     * @param offset the index to store the first object at.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    @Override
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        if (offset < 0 || max < 0 || offset + max > target.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        final int count = Math.min(max, currentSize);
+        final int firstPart = Math.min(count, elements.length - head);
+        System.arraycopy(elements, head, target, offset, firstPart);
+        System.arraycopy(elements, 0, target, offset + firstPart, count - firstPart);
+        for (int i = 0; i < count; i++)
+        {
+            elements[RingBuffers.wrap(head + i, elements.length)] = null;
+        }
+        head = RingBuffers.wrap(head + count, elements.length);
+        currentSize -= count;
+        return count;
+    }
+
+    /**
+     * Doubles the capacity of the array, unwrapping the elements so the
+     * first element sits at index zero.
+     */
+    private void grow()
+    {
+        @SuppressWarnings("unchecked")
+        final E[] larger = (E[]) new Object[RingBuffers.doubled(elements.length, "Deque")];
+        RingBuffers.unwrap(elements, head, larger);
+        elements = larger;
+        head = 0;
+    }
+
+    /**
+     * Moves through the list from first to last.
+     *
+     * @return next object in the list
+     */
+    private class IteratorHelper implements Iterator<E>
+    {
+        int index;
+
+        public IteratorHelper()
+        {
+            index = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < currentSize;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return elements[RingBuffers.wrap(head + index++, elements.length)];
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package data_structures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of a queue that consumers can wait on, using generic
+ * arguments and an array backed list. {@link #take} and {@link #poll} park
+ * the calling thread until an object arrives instead of spinning on
+ * {@link #dequeue}, and {@link #put} and {@link #offer} do the same for
+ * producers when the queue is full.
+ *
+ * The queue is a {@link BoundedBuffer} with the BLOCK policy, so waiting is
+ * done with a ReentrantLock and its Conditions rather than synchronized and
+ * Object.wait, and a virtual thread that waits here unmounts from its carrier
+ * thread instead of pinning it. Each add or remove wakes a single waiting
+ * thread, so a large number of idle consumers costs nothing until there is
+ * work for them. Unlike {@link BoundedQueue} the storage is not sized for the
+ * capacity up front; it grows as objects arrive.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class BlockingQueue<E> extends BoundedBuffer<E>
+{
+    /**
+     * Creates a queue that holds as many objects as its array backed list
+     * can, 2^30. Nothing is allocated for that up front.
+     */
+    public BlockingQueue()
+    {
+        this(RingBuffers.MAX_CAPACITY);
+    }
+
+    /**
+     * Creates a queue that holds at most capacity objects.
+     *
+     * @param capacity the most objects the queue will hold, at most 2^30.
+     */
+    public BlockingQueue(final int capacity)
+    {
+        super(capacity, OverflowPolicy.BLOCK, false);
+    }
+
+    /**
+     * Adds an object to the queue if there is room, without waiting.
+     *
+     * @param obj the object to be added to the queue.
+     * @return true if the object was added, false if the queue was full
+     */
+    public boolean enqueue(final E obj)
+    {
+        return tryAdd(obj);
+    }
+
+    /**
+     * Adds an object to the queue, waiting for room if the queue is full.
+     *
+     * @param obj the object to be added to the queue.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void put(final E obj) throws InterruptedException
+    {
+        addWhenRoom(obj);
+    }
+
+    /**
+     * Adds an object to the queue, waiting up to the given time for room if
+     * the queue is full.
+     *
+     * @param obj the object to be added to the queue.
+     * @param timeout how long to wait.
+     * @param unit the unit of timeout.
+     * @return true if the object was added, false if the time ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean offer(final E obj, final long timeout, final TimeUnit unit)
+            throws InterruptedException
+    {
+        return tryAdd(obj, timeout, unit);
+    }
+
+    /**
+     * Removes the oldest item in the queue without waiting.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        return remove();
+    }
+
+    /**
+     * Removes the oldest item in the queue, waiting for one to arrive if the
+     * queue is empty.
+     *
+     * @return the object removed.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E take() throws InterruptedException
+    {
+        return removeWhenPresent();
+    }
+
+    /**
+     * Removes the oldest item in the queue, waiting up to the given time for
+     * one to arrive if the queue is empty.
+     *
+     * @param timeout how long to wait.
+     * @param unit the unit of timeout.
+     * @return the object removed, or null if the time ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        return tryRemove(timeout, unit);
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return oldest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        return peekNext();
+    }
+
+    @Override
+    E removeNext(final ListI<E> list)
+    {
+        return list.removeFirst();
+    }
+
+    @Override
+    E peekNext(final ListI<E> list)
+    {
+        return list.peekFirst();
+    }
+}
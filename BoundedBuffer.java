@@ -0,0 +1,417 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The part of {@link BoundedQueue}, {@link BoundedStack} and
+ * {@link BlockingQueue} that does not depend on which end objects leave from:
+ * the storage, the lock and its conditions, and the overflow policy. New
+ * objects always go in at the back of the list and the oldest object is
+ * always at the front, the same way round as {@link Queue}; subclasses decide
+ * which end is removed next.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements held
+ */
+
+abstract class BoundedBuffer<E>
+{
+    private final ListI<E> list;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ReentrantLock lock;
+    private final Condition notFull, notEmpty;
+
+    BoundedBuffer(final int capacity, final OverflowPolicy policy)
+    {
+        this(capacity, policy, true);
+    }
+
+    /**
+     * @param capacity the most objects that will be held
+     * @param policy what add does when there is no room
+     * @param preallocate whether to size the storage for the capacity up
+     *        front, rather than letting it grow as objects arrive
+     */
+    BoundedBuffer(final int capacity, final OverflowPolicy policy, final boolean preallocate)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (capacity > RingBuffers.MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("Capacity too large");
+        }
+        if (policy == null)
+        {
+            throw new NullPointerException("Policy must not be null");
+        }
+        list = preallocate ? new ArrayDeque<E>(capacity) : new ArrayDeque<E>();
+        this.capacity = capacity;
+        this.policy = policy;
+        lock = new ReentrantLock();
+        notFull = lock.newCondition();
+        notEmpty = lock.newCondition();
+    }
+
+    /**
+     * Removes the object that leaves next. Called with the lock held on a
+     * list that is not empty.
+     *
+     * @param list the storage
+     * @return the object removed
+     */
+    abstract E removeNext(ListI<E> list);
+
+    /**
+     * Returns the object that leaves next. Called with the lock held.
+     *
+     * @param list the storage
+     * @return the object, or null if the list is empty
+     */
+    abstract E peekNext(ListI<E> list);
+
+    /**
+     * Adds an object, applying the overflow policy if there is no room. The
+     * BLOCK policy waits here without responding to interrupts; callers that
+     * need to be interruptible use {@link #addWhenRoom} instead.
+     *
+     * @param obj the object to add
+     * @throws IllegalStateException if there is no room and the policy is
+     *         REJECT
+     */
+    final void add(final E obj)
+    {
+        lock.lock();
+        try
+        {
+            if (list.size() == capacity)
+            {
+                switch (policy)
+                {
+                    case DROP_OLDEST:
+                        list.removeFirst();
+                        break;
+                    case BLOCK:
+                        while (list.size() == capacity)
+                        {
+                            notFull.awaitUninterruptibly();
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException(getClass().getSimpleName() + " full");
+                }
+            }
+            addAndSignal(obj);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an object, waiting for room if there is none, without applying
+     * the overflow policy.
+     *
+     * @param obj the object to add
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting
+     */
+    final void addWhenRoom(final E obj) throws InterruptedException
+    {
+        lock.lockInterruptibly();
+        try
+        {
+            while (list.size() == capacity)
+            {
+                notFull.await();
+            }
+            addAndSignal(obj);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an object if there is room, without applying the overflow policy.
+     *
+     * @param obj the object to add
+     * @return true if the object was added
+     */
+    final boolean tryAdd(final E obj)
+    {
+        lock.lock();
+        try
+        {
+            if (list.size() == capacity)
+            {
+                return false;
+            }
+            addAndSignal(obj);
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an object, waiting up to the timeout for room, without applying
+     * the overflow policy.
+     *
+     * @param obj the object to add
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return true if the object was added, false if the time ran out
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting
+     */
+    final boolean tryAdd(final E obj, final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try
+        {
+            while (list.size() == capacity)
+            {
+                if (nanos <= 0)
+                {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            addAndSignal(obj);
+            return true;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the object that leaves next.
+     *
+     * @return the object removed, or null if empty
+     */
+    final E remove()
+    {
+        lock.lock();
+        try
+        {
+            if (list.isEmpty())
+            {
+                return null;
+            }
+            return removeAndSignal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the object that leaves next, waiting for one to arrive if
+     * there is none.
+     *
+     * @return the object removed
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting
+     */
+    final E removeWhenPresent() throws InterruptedException
+    {
+        lock.lockInterruptibly();
+        try
+        {
+            while (list.isEmpty())
+            {
+                notEmpty.await();
+            }
+            return removeAndSignal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the object that leaves next, waiting up to the timeout for one
+     * to arrive if there is none.
+     *
+     * @param timeout how long to wait
+     * @param unit the unit of timeout
+     * @return the object removed, or null if the time ran out
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting
+     */
+    final E tryRemove(final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try
+        {
+            while (list.isEmpty())
+            {
+                if (nanos <= 0)
+                {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return removeAndSignal();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an object and wakes one waiting consumer. The lock must be held
+     * and there must be room.
+     *
+     * @param obj the object to add
+     */
+    private void addAndSignal(final E obj)
+    {
+        list.addLast(obj);
+        notEmpty.signal();
+    }
+
+    /**
+     * Removes the object that leaves next and wakes one waiting producer.
+     * The lock must be held and the list must not be empty.
+     *
+     * @return the object removed
+     */
+    private E removeAndSignal()
+    {
+        final E tmp = removeNext(list);
+        notFull.signal();
+        return tmp;
+    }
+
+    /**
+     * Returns the object that leaves next, without removing it.
+     *
+     * @return the object, or null if empty
+     */
+    final E peekNext()
+    {
+        lock.lock();
+        try
+        {
+            return peekNext(list);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of Objects currently held.
+     *
+     * @return the number of Objects currently held.
+     */
+    public int size()
+    {
+        lock.lock();
+        try
+        {
+            return list.size();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the most objects that will be held.
+     *
+     * @return the capacity.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Test whether nothing is held.
+     *
+     * @return true if empty, otherwise false
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Test whether the capacity has been reached.
+     *
+     * @return true if full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return size() == capacity;
+    }
+
+    /**
+     * Test whether an object is held. This will use the object's compareTo
+     * method to determine whether two objects are the same.
+     *
+     * @param obj The object to look for
+     * @return true if the object is found, false if it is not found
+     */
+    public boolean contains(final E obj)
+    {
+        lock.lock();
+        try
+        {
+            return list.contains(obj);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return to an empty state, waking every producer waiting for room.
+     */
+    public void makeEmpty()
+    {
+        lock.lock();
+        try
+        {
+            list.makeEmpty();
+            notFull.signalAll();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an Iterator of the values held, from oldest to newest. The
+     * iterator is not protected by the lock.
+     *
+     * @see java.lang.Iterable#iterator()
+     */
+    public Iterator<E> iterator()
+    {
+        return list.iterator();
+    }
+}
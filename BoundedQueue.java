@@ -0,0 +1,128 @@
+package data_structures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of a queue with a fixed capacity, using generic arguments
+ * and a preallocated array. What happens when an object is enqueued on a full
+ * queue is decided by the queue's {@link OverflowPolicy}; {@link #offer}
+ * always fails fast instead, and its timed form waits a bounded time.
+ *
+ * Every operation holds the queue's lock, so producers and consumers may be
+ * on different threads.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class BoundedQueue<E> extends BoundedBuffer<E>
+{
+    /**
+     * Creates a queue that rejects objects once it is full.
+     *
+     * @param capacity the most objects the queue will hold.
+     */
+    public BoundedQueue(final int capacity)
+    {
+        this(capacity, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Creates a queue with the given overflow policy.
+     *
+     * @param capacity the most objects the queue will hold.
+     * @param policy what enqueue does when the queue is full.
+     */
+    public BoundedQueue(final int capacity, final OverflowPolicy policy)
+    {
+        super(capacity, policy);
+    }
+
+    /**
+     * Adds an object to the queue. If the queue is full the overflow policy
+     * decides whether the object is rejected, the oldest object is dropped,
+     * or the caller waits for room. With BLOCK the wait does not respond to interrupts; use {@link #put}
+     * for that.
+     *
+     * @param obj the object to be added to the queue.
+     * @throws IllegalStateException if the queue is full and the policy is
+     *         REJECT
+     */
+    public void enqueue(final E obj)
+    {
+        add(obj);
+    }
+
+    /**
+     * Adds an object to the queue, waiting for room if the queue is full,
+     * without applying the overflow policy.
+     *
+     * @param obj the object to be added to the queue.
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting for room
+     */
+    public void put(final E obj) throws InterruptedException
+    {
+        addWhenRoom(obj);
+    }
+
+    /**
+     * Adds an object to the queue if there is room, without applying the
+     * overflow policy.
+     *
+     * @param obj the object to be added to the queue.
+     * @return true if the object was added, false if the queue was full
+     */
+    public boolean offer(final E obj)
+    {
+        return tryAdd(obj);
+    }
+
+    /**
+     * Adds an object to the queue, waiting up to the timeout for room,
+     * without applying the overflow policy.
+     *
+     * @param obj the object to be added to the queue.
+     * @param timeout how long to wait for room.
+     * @param unit the unit of timeout.
+     * @return true if the object was added, false if the queue stayed full
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting for room
+     */
+    public boolean offer(final E obj, final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        return tryAdd(obj, timeout, unit);
+    }
+
+    /**
+     * Removes the oldest item in the queue.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        return remove();
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return oldest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        return peekNext();
+    }
+
+    @Override
+    E removeNext(final ListI<E> list)
+    {
+        return list.removeFirst();
+    }
+
+    @Override
+    E peekNext(final ListI<E> list)
+    {
+        return list.peekFirst();
+    }
+}
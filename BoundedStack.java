@@ -0,0 +1,129 @@
+package data_structures;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of a stack with a fixed capacity, using generic arguments
+ * and a preallocated array. What happens when an object is pushed on a full
+ * stack is decided by the stack's {@link OverflowPolicy}; {@link #tryPush}
+ * always fails fast instead, and its timed form waits a bounded time.
+ * DROP_OLDEST discards the bottom of the stack.
+ *
+ * Every operation holds the stack's lock, so producers and consumers may be
+ * on different threads.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this Stack
+ */
+
+public class BoundedStack<E> extends BoundedBuffer<E>
+{
+    /**
+     * Creates a stack that rejects objects once it is full.
+     *
+     * @param capacity the most objects the stack will hold.
+     */
+    public BoundedStack(final int capacity)
+    {
+        this(capacity, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Creates a stack with the given overflow policy.
+     *
+     * @param capacity the most objects the stack will hold.
+     * @param policy what push does when the stack is full.
+     */
+    public BoundedStack(final int capacity, final OverflowPolicy policy)
+    {
+        super(capacity, policy);
+    }
+
+    /**
+     * Adds an object to the stack. If the stack is full the overflow policy
+     * decides whether the object is rejected, the bottom object is dropped,
+     * or the caller waits for room. With BLOCK the wait does not respond to
+     * interrupts; use {@link #put} for that.
+     *
+     * @param obj the object to be added to the stack.
+     * @throws IllegalStateException if the stack is full and the policy is
+     *         REJECT
+     */
+    public void push(final E obj)
+    {
+        add(obj);
+    }
+
+    /**
+     * Adds an object to the stack, waiting for room if the stack is full,
+     * without applying the overflow policy.
+     *
+     * @param obj the object to be added to the stack.
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting for room
+     */
+    public void put(final E obj) throws InterruptedException
+    {
+        addWhenRoom(obj);
+    }
+
+    /**
+     * Adds an object to the stack if there is room, without applying the
+     * overflow policy.
+     *
+     * @param obj the object to be added to the stack.
+     * @return true if the object was added, false if the stack was full
+     */
+    public boolean tryPush(final E obj)
+    {
+        return tryAdd(obj);
+    }
+
+    /**
+     * Adds an object to the stack, waiting up to the timeout for room,
+     * without applying the overflow policy.
+     *
+     * @param obj the object to be added to the stack.
+     * @param timeout how long to wait for room.
+     * @param unit the unit of timeout.
+     * @return true if the object was added, false if the stack stayed full
+     * @throws InterruptedException if the thread is interrupted while
+     *         waiting for room
+     */
+    public boolean tryPush(final E obj, final long timeout, final TimeUnit unit) throws InterruptedException
+    {
+        return tryAdd(obj, timeout, unit);
+    }
+
+    /**
+     * Removes the newest item in the stack.
+     *
+     * @return the object removed, or null if the stack is empty.
+     */
+    public E pop()
+    {
+        return remove();
+    }
+
+    /**
+     * Returns what is on top of the stack
+     *
+     * @return newest item on the stack, or null if the stack is empty.
+     */
+    public E peek()
+    {
+        return peekNext();
+    }
+
+    @Override
+    E removeNext(final ListI<E> list)
+    {
+        return list.removeLast();
+    }
+
+    @Override
+    E peekNext(final ListI<E> list)
+    {
+        return list.peekLast();
+    }
+}
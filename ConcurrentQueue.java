@@ -0,0 +1,163 @@
+package data_structures;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of a lock-free queue using generic arguments, following the
+ * Michael and Scott linked queue. Nodes are linked with compare-and-set so
+ * any number of threads may enqueue and dequeue at once without blocking.
+ * The element count is kept in a LongAdder, which spreads updates over
+ * several cells, so counting does not add a shared hotspot next to head and
+ * tail.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class ConcurrentQueue<E>
+{
+    /** * @param <E> */
+    private static class Node<E>
+    {
+        volatile E data;
+        final AtomicReference<Node<E>> next;
+
+        public Node(final E newData)
+        {
+            data = newData;
+            next = new AtomicReference<Node<E>>(null);
+        }
+    }
+
+    // head is always a dummy node, the first element is head.next
+    private final AtomicReference<Node<E>> head, tail;
+    private final LongAdder currentSize;
+
+    public ConcurrentQueue()
+    {
+        final Node<E> dummy = new Node<E>(null);
+        head = new AtomicReference<Node<E>>(dummy);
+        tail = new AtomicReference<Node<E>>(dummy);
+        currentSize = new LongAdder();
+    }
+
+    /**
+     * Adds an object to the queue.
+     *
+     * @param obj the object to be added to the queue, which must not be null.
+     */
+    public void enqueue(final E obj)
+    {
+        if (obj == null)
+        {
+            throw new NullPointerException("Queue does not accept null");
+        }
+        final Node<E> node = new Node<E>(obj);
+        while (true)
+        {
+            final Node<E> last = tail.get();
+            final Node<E> next = last.next.get();
+            if (last != tail.get())
+            {
+                continue;
+            }
+            if (next == null)
+            {
+                if (last.next.compareAndSet(null, node))
+                {
+                    // Failing here is fine, another thread has moved tail
+                    tail.compareAndSet(last, node);
+                    currentSize.increment();
+                    return;
+                }
+            }
+            else
+            {
+                // tail is lagging behind, help move it forward
+                tail.compareAndSet(last, next);
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest item in the queue.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        while (true)
+        {
+            final Node<E> first = head.get();
+            final Node<E> last = tail.get();
+            final Node<E> next = first.next.get();
+            if (first != head.get())
+            {
+                continue;
+            }
+            if (next == null)
+            {
+                return null;
+            }
+            if (first == last)
+            {
+                tail.compareAndSet(last, next);
+                continue;
+            }
+            final E tmp = next.data;
+            if (head.compareAndSet(first, next))
+            {
+                // next is the new dummy, drop its reference to the data
+                next.data = null;
+                currentSize.decrement();
+                return tmp;
+            }
+        }
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return oldest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        while (true)
+        {
+            final Node<E> first = head.get();
+            final Node<E> next = first.next.get();
+            if (next == null)
+            {
+                return null;
+            }
+            final E tmp = next.data;
+            if (first == head.get())
+            {
+                return tmp;
+            }
+        }
+    }
+
+    /**
+     * Returns the current size of the queue. While other threads are
+     * enqueueing or dequeueing this is only an estimate.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, currentSize.sum()));
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return head.get().next.get() == null;
+    }
+
+}
@@ -0,0 +1,327 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free skip list implementing the RedBlackI sorted map contract, for
+ * sorted maps that many threads write at once.
+ *
+ * Each node is linked into a random number of levels, half as many nodes
+ * reaching each level as the one below, so a search skips over most of the
+ * list and takes O(log n) steps on average. Since RedBlackI has no removal,
+ * nodes are only ever inserted: a node is published by a compare-and-set on
+ * the bottom level, which decides whether the add succeeded, and is then
+ * linked into its upper levels one at a time. Readers never block and
+ * writers only retry where they collide.
+ *
+ * {@link #height} reports the number of levels in use. The iterator walks the
+ * bottom level and is weakly consistent: it sees every key added before it
+ * was created and may or may not see keys added while it runs.
+ *
+ * @author Connor Guy
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+
+public class ConcurrentSkipList<K, V> implements RedBlackI<K, V>
+{
+    private static final int MAX_LEVEL = 32;
+
+    /** * @param <K> * @param <V> */
+    private static final class Node<K, V>
+    {
+        final K key;
+        final V value;
+        final AtomicReferenceArray<Node<K, V>> next;
+
+        public Node(final K key, final V value, final int levels)
+        {
+            this.key = key;
+            this.value = value;
+            next = new AtomicReferenceArray<Node<K, V>>(levels);
+        }
+    }
+
+    private final Node<K, V> head;
+    private final AtomicInteger levels;
+    private final AtomicInteger currentSize;
+
+    public ConcurrentSkipList()
+    {
+        head = new Node<K, V>(null, null, MAX_LEVEL);
+        levels = new AtomicInteger(0);
+        currentSize = new AtomicInteger(0);
+    }
+
+    /**
+     * The method to add to the skip list. It will not allow duplicate
+     * additions: adding a key that is already present does nothing.
+     *
+     * @param key the key to add
+     * @param value the value associated with the key
+     */
+    @Override
+    public void add(K key, V value)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("Skip list does not accept null keys");
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Node<K, V>[] preds = (Node<K, V>[]) new Node[MAX_LEVEL];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Node<K, V>[] succs = (Node<K, V>[]) new Node[MAX_LEVEL];
+        final int nodeLevels = randomLevels();
+        final Node<K, V> node = new Node<K, V>(key, value, nodeLevels);
+
+        // The bottom level decides whether the key goes in
+        while (true)
+        {
+            findPredecessors(key, nodeLevels, preds, succs);
+            if (succs[0] != null && compare(key, succs[0].key) == 0)
+            {
+                return;
+            }
+            for (int i = 0; i < nodeLevels; i++)
+            {
+                node.next.set(i, succs[i]);
+            }
+            if (preds[0].next.compareAndSet(0, succs[0], node))
+            {
+                break;
+            }
+        }
+        currentSize.incrementAndGet();
+
+        for (int i = 1; i < nodeLevels; i++)
+        {
+            while (!preds[i].next.compareAndSet(i, succs[i], node))
+            {
+                // Another node went in next to us, look again
+                findPredecessors(key, nodeLevels, preds, succs);
+                node.next.set(i, succs[i]);
+            }
+        }
+
+        int current = levels.get();
+        while (nodeLevels > current && !levels.compareAndSet(current, nodeLevels))
+        {
+            current = levels.get();
+        }
+    }
+
+    /**
+     * Tests whether the skip list contains the key
+     *
+     * @param key the key to look for
+     * @return whether the key is found
+     */
+    @Override
+    public boolean contains(K key)
+    {
+        return find(key) != null;
+    }
+
+    /**
+     * Get the value associated with a given key
+     *
+     * @param key the key to get the value for
+     * @return the current value
+     */
+    @Override
+    public V getValue(K key)
+    {
+        final Node<K, V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the number of elements in the skip list
+     *
+     * @return the number of elements in the skip list
+     */
+    @Override
+    public int size()
+    {
+        return currentSize.get();
+    }
+
+    /**
+     * Test whether the skip list is empty
+     *
+     * @return <code>true</code> if the skip list is empty
+     *         <code>false</code> if the skip list is not empty
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return head.next.get(0) == null;
+    }
+
+    /**
+     * The number of levels the skip list is using, the counterpart of a
+     * tree's height. An empty skip list has no levels.
+     *
+     * @return the number of levels in use
+     */
+    @Override
+    public int height()
+    {
+        return levels.get();
+    }
+
+    /**
+     * An iterator for all the keys in the skip list, in ascending order.
+     *
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<K> iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Prints the keys in order, one per line, each followed by periods
+     * showing how many levels its node reaches.
+     */
+    @Override
+    public void print()
+    {
+        for (Node<K, V> node = head.next.get(0); node != null; node = node.next.get(0))
+        {
+            final StringBuilder line = new StringBuilder(String.valueOf(node.key));
+            for (int i = 0; i < node.next.length(); i++)
+            {
+                line.append('.');
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Finds the node holding the key.
+     *
+     * @param key the key to look for
+     * @return the node, or null if the key is not present
+     */
+    private Node<K, V> find(K key)
+    {
+        Node<K, V> node = head;
+        for (int level = levels.get() - 1; level >= 0; level--)
+        {
+            Node<K, V> next = node.next.get(level);
+            while (next != null)
+            {
+                final int comparison = compare(key, next.key);
+                if (comparison == 0)
+                {
+                    return next;
+                }
+                if (comparison < 0)
+                {
+                    break;
+                }
+                node = next;
+                next = node.next.get(level);
+            }
+        }
+        // levels may lag behind a node that was just linked, so check the
+        // bottom level to be sure
+        Node<K, V> next = node.next.get(0);
+        while (next != null && compare(key, next.key) > 0)
+        {
+            next = next.next.get(0);
+        }
+        return next != null && compare(key, next.key) == 0 ? next : null;
+    }
+
+    /**
+     * Fills in, for every level, the last node before the key and the first
+     * node at or after it. The search starts at the highest level in use,
+     * or at the new node's top level if that is higher, since levels may lag
+     * behind nodes that are still being linked in. Slots above that are set
+     * to the head and null.
+     *
+     * @param key the key being added
+     * @param nodeLevels the number of levels the new node reaches
+     * @param preds receives the predecessor at each level
+     * @param succs receives the successor at each level
+     */
+    private void findPredecessors(K key, int nodeLevels, Node<K, V>[] preds, Node<K, V>[] succs)
+    {
+        final int top = Math.max(levels.get(), nodeLevels);
+        for (int level = MAX_LEVEL - 1; level >= top; level--)
+        {
+            preds[level] = head;
+            succs[level] = null;
+        }
+        Node<K, V> node = head;
+        for (int level = top - 1; level >= 0; level--)
+        {
+            Node<K, V> next = node.next.get(level);
+            while (next != null && compare(key, next.key) > 0)
+            {
+                node = next;
+                next = node.next.get(level);
+            }
+            preds[level] = node;
+            succs[level] = next;
+        }
+    }
+
+    /**
+     * Picks how many levels a new node reaches, each extra level half as
+     * likely as the one before.
+     *
+     * @return a number of levels from 1 to MAX_LEVEL
+     */
+    private static int randomLevels()
+    {
+        final int bits = ThreadLocalRandom.current().nextInt();
+        return Math.min(MAX_LEVEL, Integer.numberOfTrailingZeros(bits) + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(K a, K b)
+    {
+        return ((Comparable<K>) a).compareTo(b);
+    }
+
+    /**
+     * Moves along the bottom level in ascending key order.
+     *
+     * @return next key in the skip list
+     */
+    private class IteratorHelper implements Iterator<K>
+    {
+        Node<K, V> index;
+
+        public IteratorHelper()
+        {
+            index = head.next.get(0);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index != null;
+        }
+
+        @Override
+        public K next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            final K tmp = index.key;
+            index = index.next.get(0);
+            return tmp;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package data_structures;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Implementation of a lock-free stack using generic arguments, following the
+ * Treiber stack with an elimination array.
+ *
+ * The top of the stack is swung with compare-and-set. When that fails
+ * because another thread got there first, the thread backs off into a random
+ * slot of the elimination array instead of retrying straight away. A push
+ * waiting in a slot can be taken directly by a pop that visits the same
+ * slot, so under heavy contention matching push and pop pairs cancel out
+ * without touching the top of the stack at all.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this Stack
+ */
+
+public class ConcurrentStack<E>
+{
+    /** * @param <E> */
+    private static class Node<E>
+    {
+        final E data;
+        Node<E> next;
+
+        public Node(final E newData)
+        {
+            data = newData;
+            next = null;
+        }
+    }
+
+    private static final int ELIMINATION_SLOTS =
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<E>> top;
+    private final AtomicReferenceArray<Node<E>> elimination;
+    private final AtomicInteger currentSize;
+
+    public ConcurrentStack()
+    {
+        top = new AtomicReference<Node<E>>(null);
+        elimination = new AtomicReferenceArray<Node<E>>(ELIMINATION_SLOTS);
+        currentSize = new AtomicInteger(0);
+    }
+
+    /**
+     * Adds an object to the stack.
+     *
+     * @param obj the object to be added to the stack, which must not be null.
+     */
+    public void push(final E obj)
+    {
+        if (obj == null)
+        {
+            throw new NullPointerException("Stack does not accept null");
+        }
+        final Node<E> node = new Node<E>(obj);
+        while (true)
+        {
+            final Node<E> first = top.get();
+            node.next = first;
+            if (top.compareAndSet(first, node))
+            {
+                currentSize.incrementAndGet();
+                return;
+            }
+            if (eliminatePush(node))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the first item in the stack.
+     *
+     * @return the object removed, or null if the stack is empty.
+     */
+    public E pop()
+    {
+        while (true)
+        {
+            final Node<E> first = top.get();
+            if (first == null)
+            {
+                return null;
+            }
+            if (top.compareAndSet(first, first.next))
+            {
+                currentSize.decrementAndGet();
+                return first.data;
+            }
+            final Node<E> other = eliminatePop();
+            if (other != null)
+            {
+                return other.data;
+            }
+        }
+    }
+
+    /**
+     * Returns what is on top of the stack
+     *
+     * @return first item in on the stack, or null if the stack is empty.
+     */
+    public E peek()
+    {
+        final Node<E> first = top.get();
+        if (first == null)
+        {
+            return null;
+        }
+        return first.data;
+    }
+
+    /**
+     * Returns the number of Objects currently in the stack. While other
+     * threads are pushing or popping this is only an estimate.
+     *
+     * @return the number of Objects currently in the stack.
+     */
+    public int size()
+    {
+        return Math.max(0, currentSize.get());
+    }
+
+    /**
+     * Test whether the stack is empty.
+     *
+     * @return true if the stack is empty, otherwise false
+     */
+    public boolean isEmpty()
+    {
+        return top.get() == null;
+    }
+
+    /**
+     * Leaves the node in a random elimination slot for a short while, hoping
+     * a pop will take it.
+     *
+     * @param node the node being pushed
+     * @return true if a pop took the node, false if the push must retry
+     */
+    private boolean eliminatePush(final Node<E> node)
+    {
+        final int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        if (!elimination.compareAndSet(slot, null, node))
+        {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++)
+        {
+            if (elimination.get(slot) != node)
+            {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // Nobody came, take the node back unless a pop beat us to it
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    /**
+     * Looks in a random elimination slot for a waiting push.
+     *
+     * @return the node taken from the slot, or null if there was none
+     */
+    private Node<E> eliminatePop()
+    {
+        final int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        final Node<E> node = elimination.get(slot);
+        if (node != null && elimination.compareAndSet(slot, node, null))
+        {
+            return node;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,78 @@
+package data_structures;
+
+/**
+ * The metrics shared by the instrumented queue and stack. Both record the
+ * same operations: one that adds an object, one that removes it, peek,
+ * contains, makeEmpty and the batch adds and drains, so they share the
+ * operation numbers and the timing calls here. Only the names of the add
+ * and remove operations differ.
+ *
+ * @author Connor Guy
+ */
+
+final class ContainerMetrics
+{
+    static final int ADD = 0, REMOVE = 1, PEEK = 2, CONTAINS = 3, MAKE_EMPTY = 4, ADD_ALL = 5,
+            DRAIN_TO = 6;
+
+    private final StructureMetrics metrics;
+
+    /**
+     * Creates the metrics for a container.
+     *
+     * @param sampleInterval time one call in this many.
+     * @param add the name of the operation that adds one object.
+     * @param remove the name of the operation that removes one object.
+     */
+    ContainerMetrics(final int sampleInterval, final String add, final String remove)
+    {
+        metrics = new StructureMetrics(sampleInterval, add, remove, "peek", "contains", "makeEmpty",
+                "addAll", "drainTo");
+    }
+
+    /**
+     * Returns the metrics being recorded.
+     *
+     * @return the metrics
+     */
+    StructureMetrics metrics()
+    {
+        return metrics;
+    }
+
+    /**
+     * Counts a call and returns its start time if it is sampled.
+     *
+     * @param operation the operation being called
+     * @return the value to pass to end or endGrowing
+     */
+    long begin(final int operation)
+    {
+        return metrics.begin(operation);
+    }
+
+    /**
+     * Records the latency of a call that cannot have grown the container.
+     *
+     * @param operation the operation that was called
+     * @param start the value returned by begin
+     */
+    void end(final int operation, final long start)
+    {
+        metrics.end(operation, start);
+    }
+
+    /**
+     * Records the latency of a call that added objects, and the size it
+     * left the container at.
+     *
+     * @param operation the operation that was called
+     * @param start the value returned by begin
+     * @param size the container's size after the call
+     */
+    void endGrowing(final int operation, final long start, final int size)
+    {
+        metrics.end(operation, start);
+        metrics.size(size);
+    }
+}
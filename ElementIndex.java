@@ -0,0 +1,187 @@
+package data_structures;
+
+/**
+ * A multiset that counts how many times each element has been added, using
+ * open addressing with linear probing. Lists keep one of these alongside
+ * their nodes so that contains can be answered in constant time instead of
+ * scanning the list.
+ *
+ * Elements are matched with hashCode and equals. Removal shifts later
+ * entries of the probe run back into the gap, so no tombstones are left
+ * behind.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements being counted
+ */
+
+public class ElementIndex<E> implements MemoryFootprint
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] keys;
+    private int[] counts;
+    private int distinct;
+
+    public ElementIndex()
+    {
+        keys = new Object[DEFAULT_CAPACITY];
+        counts = new int[DEFAULT_CAPACITY];
+        distinct = 0;
+    }
+
+    /**
+     * Records one more occurrence of an element.
+     *
+     * @param obj the element that was added
+     */
+    public void add(final E obj)
+    {
+        final Object key = obj == null ? NULL_KEY : obj;
+        int slot = find(key);
+        if (keys[slot] == null)
+        {
+            if ((distinct + 1) * 4 > keys.length * 3)
+            {
+                resize(keys.length << 1);
+                slot = find(key);
+            }
+            keys[slot] = key;
+            distinct++;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Records one less occurrence of an element.
+     *
+     * @param obj the element that was removed
+     */
+    public void remove(final E obj)
+    {
+        final int slot = find(obj == null ? NULL_KEY : obj);
+        if (keys[slot] == null)
+        {
+            return;
+        }
+        if (--counts[slot] == 0)
+        {
+            delete(slot);
+        }
+    }
+
+    /**
+     * Returns how many times an element is currently recorded.
+     *
+     * @param obj the element to look for
+     * @return the number of occurrences
+     */
+    public int count(final E obj)
+    {
+        final int slot = find(obj == null ? NULL_KEY : obj);
+        return keys[slot] == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Test whether an element is currently recorded.
+     *
+     * @param obj the element to look for
+     * @return true if it has been added more times than removed
+     */
+    public boolean contains(final E obj)
+    {
+        return keys[find(obj == null ? NULL_KEY : obj)] != null;
+    }
+
+    /**
+     * Forget every element.
+     */
+    public void clear()
+    {
+        if (distinct == 0)
+        {
+            return;
+        }
+        keys = new Object[DEFAULT_CAPACITY];
+        counts = new int[DEFAULT_CAPACITY];
+        distinct = 0;
+    }
+
+    /**
+     * Estimates the shallow footprint of the index and its tables.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        return ObjectLayout.objectSize(2, 1, 0, 0) + ObjectLayout.referenceArraySize(keys.length)
+                + ObjectLayout.arraySize(counts.length, 4);
+    }
+
+    /**
+     * Finds the slot holding the key, or the empty slot where it would go.
+     *
+     * @param key the key to look for, never null
+     * @return the slot index
+     */
+    private int find(final Object key)
+    {
+        final int mask = keys.length - 1;
+        int slot = Hashing.spread(key.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key))
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot and moves any later entries of the same probe run that
+     * could live earlier back into the gap.
+     *
+     * @param slot the slot to empty
+     */
+    private void delete(int slot)
+    {
+        final int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != null)
+        {
+            final int home = Hashing.spread(keys[next].hashCode()) & mask;
+            // Move the entry if its home is not between the gap and itself
+            if (((next - home) & mask) >= ((next - slot) & mask))
+            {
+                keys[slot] = keys[next];
+                counts[slot] = counts[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[slot] = null;
+        counts[slot] = 0;
+        distinct--;
+    }
+
+    /**
+     * Moves every entry into tables of the given size.
+     *
+     * @param capacity the new table size, a power of two
+     */
+    private void resize(final int capacity)
+    {
+        final Object[] oldKeys = keys;
+        final int[] oldCounts = counts;
+        keys = new Object[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            if (oldKeys[i] != null)
+            {
+                final int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
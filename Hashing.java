@@ -0,0 +1,31 @@
+package data_structures;
+
+/**
+ * The hash mixing shared by the hashed structures ({@link OpenHashMap},
+ * {@link ElementIndex} and {@link ShardedQueue}). They all pick a slot or
+ * lane from the low bits of a hash code, so the code is first multiplied by
+ * the golden-ratio constant and its high half folded into the low half,
+ * which keeps keys whose hash codes differ only in the high bits apart.
+ *
+ * @author Connor Guy
+ */
+
+final class Hashing
+{
+    private Hashing()
+    {
+    }
+
+    /**
+     * Mixes the high bits of a hash code into the low bits used for
+     * indexing.
+     *
+     * @param hash the hash code
+     * @return the mixed hash
+     */
+    static int spread(final int hash)
+    {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,132 @@
+package data_structures;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative long values, such as latencies in nanoseconds
+ * or tree depths, kept in a fixed array of log-linear buckets in the style of
+ * HdrHistogram. Values below 16 are counted exactly; above that each power of
+ * two is split into 16 buckets, so any recorded value is reported to within
+ * about 6%.
+ *
+ * Recording never allocates and is safe from any thread.
+ *
+ * @author Connor Guy
+ */
+
+public class Histogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    public Histogram()
+    {
+        counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Counts one occurrence of a value. Negative values are counted as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(final long value)
+    {
+        counts.incrementAndGet(bucketOf(Math.max(0, value)));
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the total count
+     */
+    public long count()
+    {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the value below which the given fraction of recorded values
+     * fall, rounded down to the start of its bucket.
+     *
+     * @param percentile the fraction, from 0 to 100
+     * @return the value at that percentile, or 0 if nothing was recorded
+     */
+    public long percentile(final double percentile)
+    {
+        final long total = count();
+        if (total == 0)
+        {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts.get(i);
+            if (seen >= rank)
+            {
+                return lowestValueOf(i);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Returns the largest value recorded, rounded down to the start of its
+     * bucket.
+     *
+     * @return the maximum, or 0 if nothing was recorded
+     */
+    public long max()
+    {
+        for (int i = BUCKETS - 1; i >= 0; i--)
+        {
+            if (counts.get(i) != 0)
+            {
+                return lowestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int bucketOf(final long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        final int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (magnitude - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowestValueOf(final int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        final int magnitude = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        final int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (magnitude - SUB_BUCKET_BITS);
+    }
+}
@@ -0,0 +1,191 @@
+package data_structures;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * A ListI that passes every call through to another list while recording
+ * {@link StructureMetrics} for it: how often each operation is called,
+ * sampled latencies, and the peak size.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this list
+ */
+
+public class InstrumentedList<E> implements ListI<E>
+{
+    private static final int ADD_FIRST = 0, ADD_LAST = 1, REMOVE_FIRST = 2, REMOVE_LAST = 3,
+            PEEK_FIRST = 4, PEEK_LAST = 5, CONTAINS = 6, ITERATOR = 7, MAKE_EMPTY = 8, ADD_ALL = 9,
+            ADD_ALL_LAST = 10, DRAIN_TO = 11;
+
+    private final ListI<E> list;
+    private final StructureMetrics metrics;
+
+    /**
+     * Wraps a list, timing one call in 64.
+     *
+     * @param list the list to instrument.
+     */
+    public InstrumentedList(final ListI<E> list)
+    {
+        this(list, 64);
+    }
+
+    /**
+     * Wraps a list.
+     *
+     * @param list the list to instrument.
+     * @param sampleInterval time one call in this many.
+     */
+    public InstrumentedList(final ListI<E> list, final int sampleInterval)
+    {
+        this.list = list;
+        metrics = new StructureMetrics(sampleInterval, "addFirst", "addLast", "removeFirst",
+                "removeLast", "peekFirst", "peekLast", "contains", "iterator", "makeEmpty", "addAll",
+                "addAllLast", "drainTo");
+    }
+
+    /**
+     * Returns the metrics recorded for this list.
+     *
+     * @return the metrics
+     */
+    public StructureMetrics metrics()
+    {
+        return metrics;
+    }
+
+    @Override
+    public void addFirst(final E obj)
+    {
+        final long start = metrics.begin(ADD_FIRST);
+        list.addFirst(obj);
+        metrics.end(ADD_FIRST, start);
+        metrics.size(list.size());
+    }
+
+    @Override
+    public void addLast(final E obj)
+    {
+        final long start = metrics.begin(ADD_LAST);
+        list.addLast(obj);
+        metrics.end(ADD_LAST, start);
+        metrics.size(list.size());
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        final long start = metrics.begin(REMOVE_FIRST);
+        final E tmp = list.removeFirst();
+        metrics.end(REMOVE_FIRST, start);
+        return tmp;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        final long start = metrics.begin(REMOVE_LAST);
+        final E tmp = list.removeLast();
+        metrics.end(REMOVE_LAST, start);
+        return tmp;
+    }
+
+    @Override
+    public E peekFirst()
+    {
+        final long start = metrics.begin(PEEK_FIRST);
+        final E tmp = list.peekFirst();
+        metrics.end(PEEK_FIRST, start);
+        return tmp;
+    }
+
+    @Override
+    public E peekLast()
+    {
+        final long start = metrics.begin(PEEK_LAST);
+        final E tmp = list.peekLast();
+        metrics.end(PEEK_LAST, start);
+        return tmp;
+    }
+
+    @Override
+    public void makeEmpty()
+    {
+        final long start = metrics.begin(MAKE_EMPTY);
+        list.makeEmpty();
+        metrics.end(MAKE_EMPTY, start);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return list.isEmpty();
+    }
+
+    @Override
+    public boolean isFull()
+    {
+        return list.isFull();
+    }
+
+    @Override
+    public int size()
+    {
+        return list.size();
+    }
+
+    @Override
+    public boolean contains(final E obj)
+    {
+        final long start = metrics.begin(CONTAINS);
+        final boolean found = list.contains(obj);
+        metrics.end(CONTAINS, start);
+        return found;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        final long start = metrics.begin(ITERATOR);
+        final Iterator<E> tmp = list.iterator();
+        metrics.end(ITERATOR, start);
+        return tmp;
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends E> source)
+    {
+        final long start = metrics.begin(ADD_ALL);
+        list.addAll(source);
+        metrics.end(ADD_ALL, start);
+        metrics.size(list.size());
+    }
+
+    @Override
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        final long start = metrics.begin(ADD_ALL_LAST);
+        list.addAllLast(source, offset, length);
+        metrics.end(ADD_ALL_LAST, start);
+        metrics.size(list.size());
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> target, final int max)
+    {
+        final long start = metrics.begin(DRAIN_TO);
+        final int count = list.drainTo(target, max);
+        metrics.end(DRAIN_TO, start);
+        return count;
+    }
+
+    @Override
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        final long start = metrics.begin(DRAIN_TO);
+        final int count = list.drainTo(target, offset, max);
+        metrics.end(DRAIN_TO, start);
+        return count;
+    }
+}
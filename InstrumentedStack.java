@@ -0,0 +1,125 @@
+package data_structures;
+
+import java.util.Collection;
+
+/**
+ * A Stack that records {@link StructureMetrics} for itself: how often each
+ * operation is called, sampled latencies, and the peak size. Since Stack is
+ * a class rather than an interface, this extends it, so an instrumented
+ * stack can be used anywhere a Stack is expected.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this Stack
+ */
+
+public class InstrumentedStack<E> extends Stack<E>
+{
+    private final ContainerMetrics timer;
+
+    /**
+     * Creates an empty linked stack, timing one call in 64.
+     */
+    public InstrumentedStack()
+    {
+        this(new LinkedList<E>(), 64);
+    }
+
+    /**
+     * Creates a stack on top of the given list, which should be empty.
+     *
+     * @param list the list used to store the stack.
+     * @param sampleInterval time one call in this many.
+     */
+    public InstrumentedStack(final ListI<E> list, final int sampleInterval)
+    {
+        super(list);
+        timer = new ContainerMetrics(sampleInterval, "push", "pop");
+    }
+
+    /**
+     * Returns the metrics recorded for this stack.
+     *
+     * @return the metrics
+     */
+    public StructureMetrics metrics()
+    {
+        return timer.metrics();
+    }
+
+    @Override
+    public void push(final E obj)
+    {
+        final long start = timer.begin(ContainerMetrics.ADD);
+        super.push(obj);
+        timer.endGrowing(ContainerMetrics.ADD, start, size());
+    }
+
+    @Override
+    public E pop()
+    {
+        final long start = timer.begin(ContainerMetrics.REMOVE);
+        final E tmp = super.pop();
+        timer.end(ContainerMetrics.REMOVE, start);
+        return tmp;
+    }
+
+    @Override
+    public E peek()
+    {
+        final long start = timer.begin(ContainerMetrics.PEEK);
+        final E tmp = super.peek();
+        timer.end(ContainerMetrics.PEEK, start);
+        return tmp;
+    }
+
+    @Override
+    public boolean contains(final E obj)
+    {
+        final long start = timer.begin(ContainerMetrics.CONTAINS);
+        final boolean found = super.contains(obj);
+        timer.end(ContainerMetrics.CONTAINS, start);
+        return found;
+    }
+
+    @Override
+    public void makeEmpty()
+    {
+        final long start = timer.begin(ContainerMetrics.MAKE_EMPTY);
+        super.makeEmpty();
+        timer.end(ContainerMetrics.MAKE_EMPTY, start);
+    }
+
+    @Override
+    public void addAll(final Iterable<? extends E> source)
+    {
+        final long start = timer.begin(ContainerMetrics.ADD_ALL);
+        super.addAll(source);
+        timer.endGrowing(ContainerMetrics.ADD_ALL, start, size());
+    }
+
+    @Override
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        final long start = timer.begin(ContainerMetrics.ADD_ALL);
+        super.addAllLast(source, offset, length);
+        timer.endGrowing(ContainerMetrics.ADD_ALL, start, size());
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> target, final int max)
+    {
+        final long start = timer.begin(ContainerMetrics.DRAIN_TO);
+        final int count = super.drainTo(target, max);
+        timer.end(ContainerMetrics.DRAIN_TO, start);
+        return count;
+    }
+
+    @Override
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        final long start = timer.begin(ContainerMetrics.DRAIN_TO);
+        final int count = super.drainTo(target, offset, max);
+        timer.end(ContainerMetrics.DRAIN_TO, start);
+        return count;
+    }
+}
@@ -0,0 +1,139 @@
+package data_structures;
+
+import java.util.Iterator;
+
+/**
+ * A RedBlackI that passes every call through to another tree while recording
+ * {@link StructureMetrics} for it: how often each operation is called,
+ * sampled latencies, and the peak size. When the wrapped tree is a
+ * {@link RedBlackTree}, sampled add, contains and getValue calls also record
+ * how many nodes the search visits.
+ *
+ * @author Connor Guy
+ * @param <K> the type of keys in this tree
+ * @param <V> the type of values in this tree
+ */
+
+public class InstrumentedTree<K, V> implements RedBlackI<K, V>
+{
+    private static final int ADD = 0, CONTAINS = 1, GET_VALUE = 2, HEIGHT = 3, ITERATOR = 4;
+
+    private final RedBlackI<K, V> tree;
+    private final RedBlackTree<K, V> depthSource;
+    private final StructureMetrics metrics;
+
+    /**
+     * Wraps a tree, timing one call in 64.
+     *
+     * @param tree the tree to instrument.
+     */
+    public InstrumentedTree(final RedBlackI<K, V> tree)
+    {
+        this(tree, 64);
+    }
+
+    /**
+     * Wraps a tree.
+     *
+     * @param tree the tree to instrument.
+     * @param sampleInterval time one call in this many.
+     */
+    public InstrumentedTree(final RedBlackI<K, V> tree, final int sampleInterval)
+    {
+        this.tree = tree;
+        depthSource = tree instanceof RedBlackTree ? (RedBlackTree<K, V>) tree : null;
+        metrics = new StructureMetrics(sampleInterval, "add", "contains", "getValue", "height",
+                "iterator");
+    }
+
+    /**
+     * Returns the metrics recorded for this tree.
+     *
+     * @return the metrics
+     */
+    public StructureMetrics metrics()
+    {
+        return metrics;
+    }
+
+    @Override
+    public void add(final K key, final V value)
+    {
+        final long start = metrics.begin(ADD);
+        tree.add(key, value);
+        metrics.end(ADD, start);
+        recordDepth(key, start);
+        metrics.size(tree.size());
+    }
+
+    @Override
+    public boolean contains(final K key)
+    {
+        final long start = metrics.begin(CONTAINS);
+        final boolean found = tree.contains(key);
+        metrics.end(CONTAINS, start);
+        recordDepth(key, start);
+        return found;
+    }
+
+    @Override
+    public V getValue(final K key)
+    {
+        final long start = metrics.begin(GET_VALUE);
+        final V tmp = tree.getValue(key);
+        metrics.end(GET_VALUE, start);
+        recordDepth(key, start);
+        return tmp;
+    }
+
+    @Override
+    public int size()
+    {
+        return tree.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return tree.isEmpty();
+    }
+
+    @Override
+    public int height()
+    {
+        final long start = metrics.begin(HEIGHT);
+        final int tmp = tree.height();
+        metrics.end(HEIGHT, start);
+        return tmp;
+    }
+
+    @Override
+    public Iterator<K> iterator()
+    {
+        final long start = metrics.begin(ITERATOR);
+        final Iterator<K> tmp = tree.iterator();
+        metrics.end(ITERATOR, start);
+        return tmp;
+    }
+
+    @Override
+    public void print()
+    {
+        tree.print();
+    }
+
+    /**
+     * Records the search depth of a key for a sampled call, after the call
+     * has been timed so the extra search does not count towards its latency.
+     *
+     * @param key the key that was searched for
+     * @param start the value returned by begin for the call
+     */
+    private void recordDepth(final K key, final long start)
+    {
+        if (depthSource != null && start != StructureMetrics.NOT_SAMPLED)
+        {
+            metrics.depth(depthSource.depth(key));
+        }
+    }
+}
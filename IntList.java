@@ -0,0 +1,239 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A list of int values, mirroring {@link ListI} without boxing. The values
+ * are kept in a growable circular int array, so each one costs four bytes
+ * instead of an Integer and a list node.
+ *
+ * Since there is no null to return, the remove and peek methods throw
+ * NoSuchElementException when the list is empty.
+ *
+ * @author Connor Guy
+ */
+
+public class IntList
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] elements;
+    private int head, currentSize;
+
+    public IntList()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list able to hold at least the given number of values
+     * before it has to grow.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two.
+     */
+    public IntList(final int capacity)
+    {
+        elements = new int[RingBuffers.capacityFor(capacity)];
+        head = currentSize = 0;
+    }
+
+    /**
+     * Adds a value to the beginning of the list.
+     *
+     * @param value the value to be added to the list.
+     */
+    public void addFirst(final int value)
+    {
+        if (currentSize == elements.length)
+        {
+            grow();
+        }
+        head = RingBuffers.wrap(head - 1, elements.length);
+        elements[head] = value;
+        currentSize++;
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value the value to be added to the list.
+     */
+    public void addLast(final int value)
+    {
+        if (currentSize == elements.length)
+        {
+            grow();
+        }
+        elements[RingBuffers.wrap(head + currentSize, elements.length)] = value;
+        currentSize++;
+    }
+
+    /**
+     * Removes the first value in the list and returns it.
+     *
+     * @return the value removed.
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeFirst()
+    {
+        final int tmp = peekFirst();
+        head = RingBuffers.wrap(head + 1, elements.length);
+        currentSize--;
+        return tmp;
+    }
+
+    /**
+     * Removes the last value in the list and returns it.
+     *
+     * @return the value removed.
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeLast()
+    {
+        final int tmp = peekLast();
+        currentSize--;
+        return tmp;
+    }
+
+    /**
+     * Returns the first value in the list, but does not remove it.
+     *
+     * @return the value at the beginning of the list.
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int peekFirst()
+    {
+        if (isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    /**
+     * Returns the last value in the list, but does not remove it.
+     *
+     * @return the value at the end of the list.
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int peekLast()
+    {
+        if (isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return elements[RingBuffers.wrap(head + currentSize - 1, elements.length)];
+    }
+
+    /**
+     * Return the list to an empty state. This is a constant time operation.
+     */
+    public void makeEmpty()
+    {
+        head = currentSize = 0;
+    }
+
+    /**
+     * Test whether the list is empty.
+     *
+     * @return true if the list is empty, otherwise false
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Test whether the list is full. The array grows on demand, so this
+     * list is never full.
+     *
+     * @return true if the list is full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return false;
+    }
+
+    /**
+     * Returns the number of values currently in the list.
+     *
+     * @return the number of values currently in the list.
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Test whether the list contains a value.
+     *
+     * @param value The value to look for in the list
+     * @return true if the value is found in the list, false if it is not found
+     */
+    public boolean contains(final int value)
+    {
+        for (int i = 0; i < currentSize; i++)
+        {
+            if (elements[RingBuffers.wrap(head + i, elements.length)] == value)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an iterator of the values in the list, presented in
+     * the same order as the list.
+     *
+     * @return an unboxed iterator over the list
+     */
+    public PrimitiveIterator.OfInt iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Doubles the capacity of the array, unwrapping the values so the
+     * first value sits at index zero.
+     */
+    private void grow()
+    {
+        final int[] larger = new int[RingBuffers.doubled(elements.length, "List")];
+        RingBuffers.unwrap(elements, head, larger);
+        elements = larger;
+        head = 0;
+    }
+
+    /**
+     * Moves through the list from first to last.
+     *
+     * @return next value in the list
+     */
+    private class IteratorHelper implements PrimitiveIterator.OfInt
+    {
+        int index;
+
+        public IteratorHelper()
+        {
+            index = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < currentSize;
+        }
+
+        @Override
+        public int nextInt()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return elements[RingBuffers.wrap(head + index++, elements.length)];
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package data_structures;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Implementation of a stack of int values, using an {@link IntList} so that
+ * pushing and popping never box.
+ *
+ * Since there is no null to return, pop and peek throw
+ * NoSuchElementException when the stack is empty.
+ *
+ * @author Connor Guy
+ */
+
+public class IntStack
+{
+    private IntList list;
+
+    public IntStack()
+    {
+        list = new IntList();
+    }
+
+    /**
+     * Creates an empty stack able to hold at least the given number of
+     * values before it has to grow.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two.
+     */
+    public IntStack(final int capacity)
+    {
+        list = new IntList(capacity);
+    }
+
+    /**
+     * Adds a value to the stack.
+     *
+     * @param value the value to be added to the stack.
+     */
+    public void push(final int value)
+    {
+        list.addFirst(value);
+    }
+
+    /**
+     * Removes the first item in the stack.
+     *
+     * @return the value removed.
+     * @throws java.util.NoSuchElementException if the stack is empty
+     */
+    public int pop()
+    {
+        return list.removeFirst();
+    }
+
+    /**
+     * Returns the number of values currently in the stack.
+     *
+     * @return the number of values currently in the stack.
+     */
+    public int size()
+    {
+        return list.size();
+    }
+
+    /**
+     * Test whether the stack is empty.
+     *
+     * @return true if the stack is empty, otherwise false
+     */
+    public boolean isEmpty()
+    {
+        return list.isEmpty();
+    }
+
+    /**
+     * Test whether the stack is full.
+     *
+     * @return true if the stack is full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return list.isFull();
+    }
+
+    /**
+     * Returns what is on top of the stack
+     *
+     * @return first item in on the stack
+     * @throws java.util.NoSuchElementException if the stack is empty
+     */
+    public int peek()
+    {
+        return list.peekFirst();
+    }
+
+    /**
+     * Test whether the stack contains a value.
+     *
+     * @param value The value to look for in the stack
+     * @return true if the value is found in the stack, false if it is not
+     *         found
+     */
+    public boolean contains(final int value)
+    {
+        return list.contains(value);
+    }
+
+    /**
+     * Return the stack to an empty state.
+     * This is a constant time operation.
+     */
+    public void makeEmpty()
+    {
+        list.makeEmpty();
+    }
+
+    /**
+     * Returns an iterator of the values in the stack, presented in
+     * the same order as the stack.
+     *
+     * @return an unboxed iterator over the stack
+     */
+    public PrimitiveIterator.OfInt iterator()
+    {
+        return list.iterator();
+    }
+
+}
@@ -1,16 +1,38 @@
 package data_structures;
 
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
  * Implementation of a linked list using generic arguments.
  *
+ * A list created with a pool size keeps up to that many removed nodes on a
+ * free list and reuses them for later adds, so a list whose size stays
+ * roughly constant stops allocating. Recycled nodes have their data cleared
+ * so they do not keep removed objects alive.
+ *
+ * A list created with an index also keeps an {@link ElementIndex} of its
+ * elements up to date on every add and remove, so contains runs in constant
+ * time at the cost of a hash table entry per distinct element.
+ *
+ * Unlike the other lists, contains matches elements with equals rather
+ * than compareTo, whether or not the list is indexed. A hash index can only
+ * honour equals and hashCode, and using the same test for the scan keeps
+ * an indexed list and a plain one giving the same answers.
+ *
+ * Iterators are fail-fast: changing the list other than through the
+ * iterator's own remove makes the iterator throw
+ * ConcurrentModificationException on its next use.
+ *
  * @author Connor Guy
  * @param <E> the type of elements in this Linked List
  */
 
-public class LinkedList<E> implements ListI<E>
+public class LinkedList<E> implements ListI<E>, MemoryFootprint
 {
     /** * @param <E> */
     private class Node<E>
@@ -29,10 +51,54 @@ public class LinkedList<E> implements ListI<E>
     private Node<E> head, tail;
     private int currentSize;
 
+    // Counts structural changes so iterators can detect them
+    private int modCount;
+
+    // Recycled nodes, linked through next
+    private Node<E> free;
+    private int freeSize;
+    private final int maxFreeSize;
+
+    private final ElementIndex<E> index;
+
     public LinkedList()
     {
+        this(0, false);
+    }
+
+    /**
+     * Creates an empty list that recycles removed nodes.
+     *
+     * @param poolSize the most removed nodes to keep for reuse, or 0 to
+     *        allocate a new node for every add.
+     */
+    public LinkedList(final int poolSize)
+    {
+        this(poolSize, false);
+    }
+
+    /**
+     * Creates an empty list, optionally recycling removed nodes and indexing
+     * its elements.
+     *
+     * @param poolSize the most removed nodes to keep for reuse, or 0 to
+     *        allocate a new node for every add.
+     * @param indexed whether to keep a hash index so contains is constant
+     *        time.
+     */
+    public LinkedList(final int poolSize, final boolean indexed)
+    {
+        if (poolSize < 0)
+        {
+            throw new IllegalArgumentException("Pool size must not be negative");
+        }
         head = tail = null;
         currentSize = 0;
+        modCount = 0;
+        free = null;
+        freeSize = 0;
+        maxFreeSize = poolSize;
+        index = indexed ? new ElementIndex<E>() : null;
     }
 
     /**
@@ -43,7 +109,7 @@ public class LinkedList<E> implements ListI<E>
     @Override
     public void addFirst(final E obj)
     {
-        final Node<E> newNode = new Node<E>(obj);
+        final Node<E> newNode = obtainNode(obj);
         if (isEmpty())
         {
             tail = newNode;
@@ -51,6 +117,8 @@ public class LinkedList<E> implements ListI<E>
         newNode.next = head;
         head = newNode;
         currentSize++;
+        modCount++;
+        indexAdd(obj);
         return;
     }
 
@@ -62,16 +130,20 @@ public class LinkedList<E> implements ListI<E>
     @Override
     public void addLast(final E obj)
     {
-        final Node<E> node = new Node<E>(obj);
+        final Node<E> node = obtainNode(obj);
         if (head == null)
         {
             head = tail = node;
             currentSize++;
+            modCount++;
+            indexAdd(obj);
             return;
         }
         tail.next = node;
         tail = node;
         currentSize++;
+        modCount++;
+        indexAdd(obj);
         return;
     }
 
@@ -90,9 +162,17 @@ public class LinkedList<E> implements ListI<E>
         }
 
         final Node<E> tmp = head;
+        final E returnData = tmp.data;
         head = head.next;
+        if (head == null)
+        {
+            tail = null;
+        }
         currentSize--;
-        return tmp.data;
+        modCount++;
+        indexRemove(returnData);
+        releaseNode(tmp);
+        return returnData;
 
     }
 
@@ -121,9 +201,12 @@ public class LinkedList<E> implements ListI<E>
             previous = current;
             current = current.next;
         }
-        current = null;
+        previous.next = null;
         tail = previous;
         currentSize--;
+        modCount++;
+        indexRemove(returnData);
+        releaseNode(current);
         return returnData;
     }
 
@@ -171,7 +254,12 @@ public class LinkedList<E> implements ListI<E>
             return;
         }
         currentSize = 0;
+        modCount++;
         head = tail = null;
+        if (index != null)
+        {
+            index.clear();
+        }
         return;
     }
 
@@ -210,7 +298,8 @@ public class LinkedList<E> implements ListI<E>
 
     /**
      * Test whether the list contains an object. This will use the object's
-     * compareTo method to determine whether two objects are the same.
+     * equals method to determine whether two objects are the same, not
+     * compareTo. An indexed list answers from its index instead of scanning.
      *
      * @param obj The object to look for in the list
      * @return true if the object is found in the list, false if it is not found
@@ -218,10 +307,14 @@ public class LinkedList<E> implements ListI<E>
     @Override
     public boolean contains(final E obj)
     {
+        if (index != null)
+        {
+            return index.contains(obj);
+        }
         Node<E> current = head;
         while (current != null)
         {
-            if (((Comparable<E>) obj).compareTo(current.data) == 0)
+            if (obj == null ? current.data == null : obj.equals(current.data))
             {
                 return true;
             }
@@ -230,6 +323,289 @@ public class LinkedList<E> implements ListI<E>
         return false;
     }
 
+    /**
+     * Adds a run of objects from an array to the end of the list. The new
+     * nodes are chained together first and then linked onto the tail once.
+     *
+     * @param source the array holding the objects to be added.
+     * @param offset the index of the first object to add.
+     * @param length the number of objects to add.
+     */
+    @Override
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        if (offset < 0 || length < 0 || offset + length > source.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length == 0)
+        {
+            return;
+        }
+        final Node<E> first = obtainNode(source[offset]);
+        indexAdd(source[offset]);
+        Node<E> last = first;
+        for (int i = offset + 1; i < offset + length; i++)
+        {
+            last.next = obtainNode(source[i]);
+            last = last.next;
+            indexAdd(source[i]);
+        }
+        if (head == null)
+        {
+            head = first;
+        }
+        else
+        {
+            tail.next = first;
+        }
+        tail = last;
+        currentSize += length;
+        modCount++;
+    }
+
+    /**
+     * Removes up to max Objects from the beginning of the list and adds
+     * them to the collection, first Object first. Each node is unlinked
+     * before its Object is handed to the collection, so the list is
+     * consistent if the collection throws; the Object being added is then
+     * put back at the front and the exception is passed on.
+     *
+     * @param target the collection to add the removed objects to.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    @Override
+    public int drainTo(final Collection<? super E> target, final int max)
+    {
+        int count = 0;
+        while (count < max && head != null)
+        {
+            final Node<E> node = detachFirst();
+            boolean added = false;
+            try
+            {
+                target.add(node.data);
+                added = true;
+            }
+            finally
+            {
+                settleDetached(node, added);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Removes up to max Objects from the beginning of the list and stores
+     * them in the array starting at offset, first Object first. If a store
+     * fails, the Object being stored is put back at the front and the
+     * exception is passed on.
+     *
+     * @param target the array to store the removed objects in.
+     * @param offset the index to store the first object at.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    @Override
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        if (offset < 0 || max < 0 || offset + max > target.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        int count = 0;
+        while (count < max && head != null)
+        {
+            final Node<E> node = detachFirst();
+            boolean stored = false;
+            try
+            {
+                target[offset + count] = node.data;
+                stored = true;
+            }
+            finally
+            {
+                settleDetached(node, stored);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Moves every node of another list onto the end of this one, leaving
+     * the other list empty. This is constant time, except that an indexed
+     * list has to record each of the moved objects.
+     *
+     * @param other the list whose objects are appended to this list.
+     */
+    public void splice(final LinkedList<E> other)
+    {
+        if (other == this)
+        {
+            throw new IllegalArgumentException("Cannot splice a list onto itself");
+        }
+        if (other.isEmpty())
+        {
+            return;
+        }
+        if (index != null)
+        {
+            for (Node<E> current = other.head; current != null; current = current.next)
+            {
+                index.add(current.data);
+            }
+        }
+        if (head == null)
+        {
+            head = other.head;
+        }
+        else
+        {
+            tail.next = other.head;
+        }
+        tail = other.tail;
+        currentSize += other.currentSize;
+        modCount++;
+        other.head = other.tail = null;
+        other.currentSize = 0;
+        other.modCount++;
+        if (other.index != null)
+        {
+            other.index.clear();
+        }
+    }
+
+    /**
+     * Estimates the shallow footprint of the list: the list itself, a node
+     * per element, the nodes waiting in the pool and the index, if any.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        // Node is an inner class, so it also holds a reference to the list
+        final long nodeBytes = ObjectLayout.objectSize(3, 0, 0, 0);
+        long total = ObjectLayout.objectSize(4, 4, 0, 0)
+                + (long) (currentSize + freeSize) * nodeBytes;
+        if (index != null)
+        {
+            total += index.estimateBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the deep footprint of the list: the shallow footprint plus
+     * the size of every element as reported by payloadSize.
+     *
+     * @param payloadSize returns the size in bytes of one element.
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes(final ToLongFunction<? super E> payloadSize)
+    {
+        long total = estimateBytes();
+        for (Node<E> current = head; current != null; current = current.next)
+        {
+            total += payloadSize.applyAsLong(current.data);
+        }
+        return total;
+    }
+
+    /**
+     * Removes every object that matches the filter in a single pass,
+     * relinking around each removed node without building a new list. The
+     * size is updated as each node is unlinked, so if the filter throws the
+     * list keeps the objects it has not yet removed and a correct size.
+     *
+     * @param filter returns true for the objects to remove.
+     * @return true if any object was removed.
+     */
+    public boolean removeIf(final Predicate<? super E> filter)
+    {
+        Node<E> previous = null, current = head;
+        boolean removed = false;
+        while (current != null)
+        {
+            final Node<E> next = current.next;
+            if (filter.test(current.data))
+            {
+                if (previous == null)
+                {
+                    head = next;
+                }
+                else
+                {
+                    previous.next = next;
+                }
+                if (current == tail)
+                {
+                    tail = previous;
+                }
+                currentSize--;
+                modCount++;
+                indexRemove(current.data);
+                releaseNode(current);
+                removed = true;
+            }
+            else
+            {
+                previous = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Takes the head node off the list and updates the size and modCount.
+     * The node keeps its data and next link until it is settled.
+     *
+     * @return the node taken off
+     */
+    private Node<E> detachFirst()
+    {
+        final Node<E> node = head;
+        head = node.next;
+        if (head == null)
+        {
+            tail = null;
+        }
+        currentSize--;
+        modCount++;
+        indexRemove(node.data);
+        return node;
+    }
+
+    /**
+     * Finishes with a node taken off by detachFirst: returns it to the pool
+     * once its Object has been handed on, or links it back in at the front
+     * if handing it on failed.
+     *
+     * @param node the detached node
+     * @param handedOn whether the node's Object reached its destination
+     */
+    private void settleDetached(final Node<E> node, final boolean handedOn)
+    {
+        if (handedOn)
+        {
+            releaseNode(node);
+            return;
+        }
+        node.next = head;
+        head = node;
+        if (tail == null)
+        {
+            tail = node;
+        }
+        currentSize++;
+        modCount++;
+        indexAdd(node.data);
+    }
+
     /**
      * Returns an Iterator of the values in the list, presented in
      * the same order as the list.
@@ -244,17 +620,89 @@ public class LinkedList<E> implements ListI<E>
     }
 
     /**
-     * Moves through the list in the order that it is created in.
+     * Records an added object in the index, if the list has one.
+     *
+     * @param obj the object added
+     */
+    private void indexAdd(final E obj)
+    {
+        if (index != null)
+        {
+            index.add(obj);
+        }
+    }
+
+    /**
+     * Removes an object from the index, if the list has one.
+     *
+     * @param obj the object removed
+     */
+    private void indexRemove(final E obj)
+    {
+        if (index != null)
+        {
+            index.remove(obj);
+        }
+    }
+
+    /**
+     * Takes a node from the pool if one is available, otherwise allocates
+     * one.
+     *
+     * @param obj the data for the node
+     * @return a node holding obj with no next node
+     */
+    private Node<E> obtainNode(final E obj)
+    {
+        if (free == null)
+        {
+            return new Node<E>(obj);
+        }
+        final Node<E> node = free;
+        free = node.next;
+        freeSize--;
+        node.data = obj;
+        node.next = null;
+        return node;
+    }
+
+    /**
+     * Clears a removed node and returns it to the pool if there is room.
+     *
+     * @param node the node that was removed from the list
+     */
+    private void releaseNode(final Node<E> node)
+    {
+        node.data = null;
+        if (freeSize < maxFreeSize)
+        {
+            node.next = free;
+            free = node;
+            freeSize++;
+        }
+        else
+        {
+            node.next = null;
+        }
+    }
+
+    /**
+     * Moves through the list in the order that it is created in. Remembers
+     * the node before the last one returned so that remove can unlink it in
+     * constant time.
      *
      * @return next object in the list
      */
     private class IteratorHelper implements Iterator<E>
     {
-        Node<E> index;
+        Node<E> index, lastReturned, beforeLast;
+        int expectedModCount;
 
         public IteratorHelper()
         {
             index = head;
+            lastReturned = beforeLast = null;
+            expectedModCount = modCount;
         }
 
         @Override
@@ -266,14 +714,56 @@ public class LinkedList<E> implements ListI<E>
         @Override
         public E next()
         {
+            checkForModification();
             if (!hasNext())
             {
                 throw new NoSuchElementException();
             }
 
-            final E tmp = index.data;
+            if (lastReturned != null)
+            {
+                beforeLast = lastReturned;
+            }
+            lastReturned = index;
             index = index.next;
-            return tmp;
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove()
+        {
+            if (lastReturned == null)
+            {
+                throw new IllegalStateException();
+            }
+            checkForModification();
+
+            if (beforeLast == null)
+            {
+                head = index;
+            }
+            else
+            {
+                beforeLast.next = index;
+            }
+            if (lastReturned == tail)
+            {
+                tail = beforeLast;
+            }
+            currentSize--;
+            modCount++;
+            expectedModCount = modCount;
+            indexRemove(lastReturned.data);
+            releaseNode(lastReturned);
+            lastReturned = null;
+        }
+
+        private void checkForModification()
+        {
+            if (modCount != expectedModCount)
+            {
+                throw new ConcurrentModificationException();
+            }
         }
 
     }
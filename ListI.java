@@ -1,5 +1,6 @@
 package data_structures;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 /**
@@ -90,7 +91,8 @@ public interface ListI<E> extends Iterable<E> {
 
 	/**
 	 * Test whether the list contains an object. This will use the object's
-	 * compareTo method to determine whether two objects are the same.
+	 * compareTo method to determine whether two objects are the same, except
+	 * in {@link LinkedList}, which uses equals so that it can be indexed.
 	 * 
 	 * @param obj The object to look for in the list
 	 * @return true if the object is found in the list, false if it is not found
@@ -104,5 +106,68 @@ public interface ListI<E> extends Iterable<E> {
 	 */
 	public Iterator<E> iterator();
 
+	/**
+	 * Adds every object from the source to the end of the list, in the
+	 * order the source returns them.
+	 * @param source the objects to be added to the list.
+	 */
+	public default void addAll(Iterable<? extends E> source) {
+		for (E obj : source) {
+			addLast(obj);
+		}
+	}
+
+	/**
+	 * Adds a run of objects from an array to the end of the list, in
+	 * array order.
+	 * @param source the array holding the objects to be added.
+	 * @param offset the index of the first object to add.
+	 * @param length the number of objects to add.
+	 */
+	public default void addAllLast(E[] source, int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > source.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		for (int i = offset; i < offset + length; i++) {
+			addLast(source[i]);
+		}
+	}
+
+	/**
+	 * Removes up to max Objects from the beginning of the list and adds
+	 * them to the collection, first Object first.
+	 * @param target the collection to add the removed objects to.
+	 * @param max the most objects to remove.
+	 * @return the number of objects removed.
+	 */
+	public default int drainTo(Collection<? super E> target, int max) {
+		int count = 0;
+		while (count < max && !isEmpty()) {
+			target.add(removeFirst());
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Removes up to max Objects from the beginning of the list and stores
+	 * them in the array starting at offset, first Object first.
+	 * @param target the array to store the removed objects in.
+	 * @param offset the index to store the first object at.
+	 * @param max the most objects to remove.
+	 * @return the number of objects removed.
+	 */
+	public default int drainTo(E[] target, int offset, int max) {
+		if (offset < 0 || max < 0 || offset + max > target.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		int count = 0;
+		while (count < max && !isEmpty()) {
+			target[offset + count] = removeFirst();
+			count++;
+		}
+		return count;
+	}
+
 }
 
@@ -0,0 +1,195 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Implementation of a queue of long values, using a growable circular long
+ * array so that enqueueing and dequeueing never box. Each value costs eight
+ * bytes instead of a Long and a list node.
+ *
+ * Since there is no null to return, dequeue and peek throw
+ * NoSuchElementException when the queue is empty.
+ *
+ * @author Connor Guy
+ */
+
+public class LongQueue
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] elements;
+    private int head, currentSize;
+
+    public LongQueue()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty queue able to hold at least the given number of values
+     * before it has to grow.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two.
+     */
+    public LongQueue(final int capacity)
+    {
+        elements = new long[RingBuffers.capacityFor(capacity)];
+        head = currentSize = 0;
+    }
+
+    /**
+     * Adds a value to the queue.
+     *
+     * @param value the value to be added to the queue.
+     */
+    public void enqueue(final long value)
+    {
+        if (currentSize == elements.length)
+        {
+            grow();
+        }
+        elements[RingBuffers.wrap(head + currentSize, elements.length)] = value;
+        currentSize++;
+    }
+
+    /**
+     * Removes the oldest value in the queue.
+     *
+     * @return the value removed.
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long dequeue()
+    {
+        final long tmp = peek();
+        head = RingBuffers.wrap(head + 1, elements.length);
+        currentSize--;
+        return tmp;
+    }
+
+    /**
+     * Returns the current size of the queue.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Test whether the queue is full. The array grows on demand, so this
+     * queue is never full.
+     *
+     * @return true if the queue is full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return false;
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return oldest value in the queue
+     * @throws NoSuchElementException if the queue is empty
+     */
+    public long peek()
+    {
+        if (isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return elements[head];
+    }
+
+    /**
+     * Test whether the queue contains a value.
+     *
+     * @param value The value to look for in the queue
+     * @return true if the value is found in the queue, false if it is not
+     *         found
+     */
+    public boolean contains(final long value)
+    {
+        for (int i = 0; i < currentSize; i++)
+        {
+            if (elements[RingBuffers.wrap(head + i, elements.length)] == value)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the queue to an empty state. This is a constant time operation.
+     */
+    public void makeEmpty()
+    {
+        head = currentSize = 0;
+    }
+
+    /**
+     * Returns an iterator of the values in the queue, oldest first.
+     *
+     * @return an unboxed iterator over the queue
+     */
+    public PrimitiveIterator.OfLong iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Doubles the capacity of the array, unwrapping the values so the
+     * oldest value sits at index zero.
+     */
+    private void grow()
+    {
+        final long[] larger = new long[RingBuffers.doubled(elements.length, "Queue")];
+        RingBuffers.unwrap(elements, head, larger);
+        elements = larger;
+        head = 0;
+    }
+
+    /**
+     * Moves through the queue from oldest to newest.
+     *
+     * @return next value in the queue
+     */
+    private class IteratorHelper implements PrimitiveIterator.OfLong
+    {
+        int index;
+
+        public IteratorHelper()
+        {
+            index = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < currentSize;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return elements[RingBuffers.wrap(head + index++, elements.length)];
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package data_structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link RecordCodec} that stores each Long as an 8 byte record, the
+ * simplest way to keep a queue or stack of numbers off the heap. Null cannot
+ * be stored.
+ *
+ * @author Connor Guy
+ */
+
+public class LongRecordCodec implements RecordCodec<Long>
+{
+    @Override
+    public int recordSize()
+    {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void encode(final Long obj, final ByteBuffer buffer, final int offset)
+    {
+        buffer.putLong(offset, obj);
+    }
+
+    @Override
+    public Long decode(final ByteBuffer buffer, final int offset)
+    {
+        return buffer.getLong(offset);
+    }
+}
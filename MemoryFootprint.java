@@ -0,0 +1,19 @@
+package data_structures;
+
+/**
+ * A structure that can estimate how much heap it occupies.
+ *
+ * @author Connor Guy
+ */
+
+public interface MemoryFootprint
+{
+    /**
+     * Estimates the shallow footprint of the structure: the structure object
+     * itself and the nodes, arrays and helper objects it allocates, but not
+     * the elements stored in it. Sizes follow {@link ObjectLayout}.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes();
+}
@@ -0,0 +1,127 @@
+package data_structures;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+/**
+ * The JVM object layout assumptions used to estimate memory footprints:
+ * whether object references and class pointers are compressed, the size of
+ * an object header, and the 8 byte alignment of objects. The settings are
+ * read from the running HotSpot VM when possible; otherwise compressed
+ * pointers are assumed whenever the maximum heap is under 32 GB, which is
+ * HotSpot's default.
+ *
+ * Field sizes are added up without modelling the VM's field packing, so
+ * estimates can be off by a few bytes per object.
+ *
+ * @author Connor Guy
+ */
+
+public final class ObjectLayout
+{
+    private static final int ALIGNMENT = 8;
+    private static final int MARK_WORD = 8;
+
+    private static final boolean COMPRESSED_OOPS;
+    private static final boolean COMPRESSED_CLASS_POINTERS;
+
+    static
+    {
+        boolean oops = Runtime.getRuntime().maxMemory() < (32L << 30);
+        boolean classPointers = oops;
+        try
+        {
+            final HotSpotDiagnosticMXBean hotSpot =
+                    ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            oops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+            classPointers = Boolean.parseBoolean(
+                    hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+        }
+        catch (RuntimeException | LinkageError e)
+        {
+            // Not a HotSpot VM, keep the guess
+        }
+        COMPRESSED_OOPS = oops;
+        COMPRESSED_CLASS_POINTERS = classPointers;
+    }
+
+    private ObjectLayout()
+    {
+    }
+
+    /**
+     * Test whether object references take four bytes rather than eight.
+     *
+     * @return true if references are compressed
+     */
+    public static boolean compressedOops()
+    {
+        return COMPRESSED_OOPS;
+    }
+
+    /**
+     * Returns the size of an object reference.
+     *
+     * @return 4 with compressed references, otherwise 8
+     */
+    public static int referenceSize()
+    {
+        return COMPRESSED_OOPS ? 4 : 8;
+    }
+
+    /**
+     * Returns the size of an object header.
+     *
+     * @return 12 with compressed class pointers, otherwise 16
+     */
+    public static int headerSize()
+    {
+        return MARK_WORD + (COMPRESSED_CLASS_POINTERS ? 4 : 8);
+    }
+
+    /**
+     * Estimates the size of an object with the given fields.
+     *
+     * @param references the number of reference fields
+     * @param ints the number of int or float fields
+     * @param longs the number of long or double fields
+     * @param bytes the number of boolean or byte fields
+     * @return the aligned size in bytes
+     */
+    public static long objectSize(final int references, final int ints, final int longs, final int bytes)
+    {
+        return align(headerSize() + (long) references * referenceSize() + ints * 4L + longs * 8L + bytes);
+    }
+
+    /**
+     * Estimates the size of an array.
+     *
+     * @param length the number of elements
+     * @param elementSize the size of each element in bytes
+     * @return the aligned size in bytes
+     */
+    public static long arraySize(final int length, final int elementSize)
+    {
+        // HotSpot starts the elements of every array type at a word boundary
+        // after the header and length
+        final long base = align(headerSize() + 4);
+        return align(base + (long) length * elementSize);
+    }
+
+    /**
+     * Estimates the size of an array of references.
+     *
+     * @param length the number of elements
+     * @return the aligned size in bytes
+     */
+    public static long referenceArraySize(final int length)
+    {
+        return arraySize(length, referenceSize());
+    }
+
+    private static long align(final long size)
+    {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,163 @@
+package data_structures;
+
+import java.io.Closeable;
+
+/**
+ * Implementation of a queue that stores its elements as fixed-size records in
+ * direct ByteBuffer slabs, outside the Java heap. A {@link RecordCodec}
+ * encodes each object on enqueue and decodes it again on dequeue, so the heap
+ * only holds one buffer per slab however many elements are queued, and the
+ * garbage collector has nothing per element to scan.
+ *
+ * Slabs are filled in order and released as the queue drains past them. One
+ * released slab is kept back for reuse so a queue that hovers around a slab
+ * boundary does not keep allocating direct memory. Closing the queue drops
+ * every slab.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class OffHeapQueue<E> implements Closeable
+{
+    private static final int DEFAULT_RECORDS_PER_SLAB = 4096;
+
+    private final RecordSlabs<E> slabs;
+    private int headIndex, tailIndex;
+    private int currentSize;
+
+    /**
+     * Creates an empty queue with 4096 records per slab.
+     *
+     * @param codec converts elements to and from records.
+     */
+    public OffHeapQueue(final RecordCodec<E> codec)
+    {
+        this(codec, DEFAULT_RECORDS_PER_SLAB);
+    }
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param codec converts elements to and from records.
+     * @param recordsPerSlab the number of records in each direct buffer.
+     */
+    public OffHeapQueue(final RecordCodec<E> codec, final int recordsPerSlab)
+    {
+        slabs = new RecordSlabs<E>(codec, recordsPerSlab);
+        headIndex = tailIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Adds an object to the queue.
+     *
+     * @param obj the object to be added to the queue.
+     * @throws IllegalStateException if the queue has been closed
+     */
+    public void enqueue(final E obj)
+    {
+        if (slabs.count() == 0 || tailIndex == slabs.recordsPerSlab())
+        {
+            slabs.grow();
+            tailIndex = 0;
+        }
+        slabs.encodeLast(obj, tailIndex);
+        tailIndex++;
+        currentSize++;
+    }
+
+    /**
+     * Removes the oldest item in the queue.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final E tmp = slabs.decodeFirst(headIndex);
+        headIndex++;
+        currentSize--;
+        if (currentSize == 0)
+        {
+            // Only one slab is left, start filling it from the beginning
+            headIndex = tailIndex = 0;
+        }
+        else if (headIndex == slabs.recordsPerSlab())
+        {
+            slabs.releaseFirst();
+            headIndex = 0;
+        }
+        return tmp;
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return oldest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        return slabs.decodeFirst(headIndex);
+    }
+
+    /**
+     * Returns the current size of the queue.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Return the queue to an empty state, releasing all but one slab.
+     */
+    public void makeEmpty()
+    {
+        slabs.clear();
+        headIndex = tailIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Empties the queue and drops every slab, including the spare, so their
+     * direct memory can be reclaimed. Enqueueing afterwards throws
+     * IllegalStateException.
+     */
+    @Override
+    public void close()
+    {
+        slabs.close();
+        headIndex = tailIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Returns the number of slabs held, including the spare.
+     *
+     * @return the slab count
+     */
+    int slabsHeld()
+    {
+        return slabs.held();
+    }
+}
@@ -0,0 +1,157 @@
+package data_structures;
+
+import java.io.Closeable;
+
+/**
+ * Implementation of a stack that stores its elements as fixed-size records in
+ * direct ByteBuffer slabs, outside the Java heap. A {@link RecordCodec}
+ * encodes each object on push and decodes it again on pop, so the heap only
+ * holds one buffer per slab however many elements are on the stack.
+ *
+ * One released slab is kept back for reuse so a stack that hovers around a
+ * slab boundary does not keep allocating direct memory. Closing the stack
+ * drops every slab.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this Stack
+ */
+
+public class OffHeapStack<E> implements Closeable
+{
+    private static final int DEFAULT_RECORDS_PER_SLAB = 4096;
+
+    private final RecordSlabs<E> slabs;
+    // Number of records in the last slab
+    private int topIndex;
+    private int currentSize;
+
+    /**
+     * Creates an empty stack with 4096 records per slab.
+     *
+     * @param codec converts elements to and from records.
+     */
+    public OffHeapStack(final RecordCodec<E> codec)
+    {
+        this(codec, DEFAULT_RECORDS_PER_SLAB);
+    }
+
+    /**
+     * Creates an empty stack.
+     *
+     * @param codec converts elements to and from records.
+     * @param recordsPerSlab the number of records in each direct buffer.
+     */
+    public OffHeapStack(final RecordCodec<E> codec, final int recordsPerSlab)
+    {
+        slabs = new RecordSlabs<E>(codec, recordsPerSlab);
+        topIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Adds an object to the stack.
+     *
+     * @param obj the object to be added to the stack.
+     * @throws IllegalStateException if the stack has been closed
+     */
+    public void push(final E obj)
+    {
+        if (slabs.count() == 0 || topIndex == slabs.recordsPerSlab())
+        {
+            slabs.grow();
+            topIndex = 0;
+        }
+        slabs.encodeLast(obj, topIndex);
+        topIndex++;
+        currentSize++;
+    }
+
+    /**
+     * Removes the first item in the stack.
+     *
+     * @return the object removed, or null if the stack is empty.
+     */
+    public E pop()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        topIndex--;
+        final E tmp = slabs.decodeLast(topIndex);
+        currentSize--;
+        if (topIndex == 0 && slabs.count() > 1)
+        {
+            slabs.releaseLast();
+            topIndex = slabs.recordsPerSlab();
+        }
+        return tmp;
+    }
+
+    /**
+     * Returns what is on top of the stack
+     *
+     * @return first item in on the stack, or null if the stack is empty.
+     */
+    public E peek()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        return slabs.decodeLast(topIndex - 1);
+    }
+
+    /**
+     * Returns the number of Objects currently in the stack.
+     *
+     * @return the number of Objects currently in the stack.
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Test whether the stack is empty.
+     *
+     * @return true if the stack is empty, otherwise false
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Return the stack to an empty state, releasing all but one slab.
+     */
+    public void makeEmpty()
+    {
+        slabs.clear();
+        topIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Empties the stack and drops every slab, including the spare, so their
+     * direct memory can be reclaimed. Pushing afterwards throws
+     * IllegalStateException.
+     */
+    @Override
+    public void close()
+    {
+        slabs.close();
+        topIndex = 0;
+        currentSize = 0;
+    }
+
+    /**
+     * Returns the number of slabs held, including the spare.
+     *
+     * @return the slab count
+     */
+    int slabsHeld()
+    {
+        return slabs.held();
+    }
+}
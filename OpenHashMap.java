@@ -0,0 +1,369 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * An unordered map with the same add, contains, getValue and size methods as
+ * RedBlackI, for callers that never need the keys in order. Lookups take
+ * constant time on average instead of O(log n) comparisons, and entries live
+ * in three parallel arrays instead of a node object each.
+ *
+ * The table uses open addressing with Robin Hood linear probing: an entry
+ * that has probed further from its home slot takes the place of one that has
+ * probed less, which keeps probe runs short and lets a failed lookup stop as
+ * soon as it meets an entry closer to home than itself. Each key's hash is
+ * cached next to it, so probing compares ints before calling equals and
+ * growing the table never calls hashCode again.
+ *
+ * Keys are matched with hashCode and equals and must not be null.
+ *
+ * @author Connor Guy
+ * @param <K> the type of keys in this map
+ * @param <V> the type of values in this map
+ */
+
+public class OpenHashMap<K, V> implements Iterable<K>, MemoryFootprint
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // A zero hash marks an empty slot
+    private int[] hashes;
+    private K[] keys;
+    private V[] values;
+    private int currentSize, threshold;
+    private final float loadFactor;
+
+    public OpenHashMap()
+    {
+        this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map able to hold the given number of entries before
+     * it has to grow.
+     *
+     * @param expectedSize the number of entries expected
+     */
+    public OpenHashMap(final int expectedSize)
+    {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates an empty map able to hold the given number of entries before
+     * it has to grow.
+     *
+     * @param expectedSize the number of entries expected
+     * @param loadFactor how full the table may get before it doubles, above
+     *            zero and below one
+     */
+    public OpenHashMap(final int expectedSize, final float loadFactor)
+    {
+        if (expectedSize < 0)
+        {
+            throw new IllegalArgumentException("Expected size must not be negative");
+        }
+        if (!(loadFactor > 0 && loadFactor < 1))
+        {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((long) Math.ceil(expectedSize / (double) loadFactor)));
+        currentSize = 0;
+    }
+
+    /**
+     * Rounds a number of slots up to a power of two.
+     *
+     * @param slots the number of slots wanted
+     * @return a power of two no smaller than slots
+     */
+    private static int tableSizeFor(final long slots)
+    {
+        if (slots > MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("Capacity too large");
+        }
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) Math.max(1, slots - 1)) << 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity)
+    {
+        hashes = new int[capacity];
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        threshold = (int) Math.min(capacity - 1L, (long) (capacity * loadFactor));
+    }
+
+    /**
+     * The method to add to the map. It will not allow duplicate additions:
+     * adding a key that is already present does nothing.
+     *
+     * @param key the key to add
+     * @param value the value associated with the key
+     */
+    public void add(K key, V value)
+    {
+        final int hash = hash(key);
+        if (find(key, hash) >= 0)
+        {
+            return;
+        }
+        if (currentSize == threshold)
+        {
+            resize(hashes.length << 1);
+        }
+        insert(hash, key, value);
+        currentSize++;
+    }
+
+    /**
+     * Tests whether the map contains the key
+     *
+     * @param key the key to look for
+     * @return whether the key is found
+     */
+    public boolean contains(K key)
+    {
+        return find(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Get the value associated with a given key
+     *
+     * @param key the key to get the value for
+     * @return the current value, or null if the key is not present
+     */
+    public V getValue(K key)
+    {
+        final int slot = find(key, hash(key));
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * Returns the number of entries in the map
+     *
+     * @return the number of entries in the map
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Test whether the map is empty
+     *
+     * @return <code>true</code> if the map is empty
+     *         <code>false</code> if the map is not empty
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * An iterator for all the keys in the map, in no particular order.
+     *
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<K> iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Estimates the shallow footprint of the map and its three tables, not
+     * counting the keys and values.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        return ObjectLayout.objectSize(3, 3, 0, 0) + ObjectLayout.arraySize(hashes.length, 4)
+                + 2 * ObjectLayout.referenceArraySize(keys.length);
+    }
+
+    /**
+     * Estimates the deep footprint of the map: the shallow footprint plus
+     * the size of every key and value.
+     *
+     * @param keySize returns the size in bytes of one key
+     * @param valueSize returns the size in bytes of one value
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes(ToLongFunction<? super K> keySize, ToLongFunction<? super V> valueSize)
+    {
+        long total = estimateBytes();
+        for (int i = 0; i < hashes.length; i++)
+        {
+            if (hashes[i] != 0)
+            {
+                total += keySize.applyAsLong(keys[i]);
+                if (values[i] != null)
+                {
+                    total += valueSize.applyAsLong(values[i]);
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Spreads the high bits of the key's hashCode into the low bits used to
+     * pick a slot, and keeps the result away from the empty marker.
+     *
+     * @param key the key to hash
+     * @return a non-zero hash
+     */
+    private static int hash(final Object key)
+    {
+        if (key == null)
+        {
+            throw new NullPointerException("Map does not accept null keys");
+        }
+        final int spread = Hashing.spread(key.hashCode());
+        return spread == 0 ? 1 : spread;
+    }
+
+    /**
+     * How far the entry in a slot sits from the slot its hash maps to.
+     */
+    private int distance(final int slot, final int hash)
+    {
+        return (slot - hash) & (hashes.length - 1);
+    }
+
+    /**
+     * Looks for a key, stopping at an empty slot or at an entry closer to
+     * its home slot than the key would be.
+     *
+     * @param key the key to look for
+     * @param hash the key's hash
+     * @return the slot holding the key, or -1 if it is not present
+     */
+    private int find(final Object key, final int hash)
+    {
+        final int mask = hashes.length - 1;
+        int slot = hash & mask;
+        for (int probed = 0;; probed++)
+        {
+            final int slotHash = hashes[slot];
+            if (slotHash == 0 || distance(slot, slotHash) < probed)
+            {
+                return -1;
+            }
+            if (slotHash == hash && key.equals(keys[slot]))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Places an entry known not to be present, displacing any entry it has
+     * probed further than and carrying that one on down the run.
+     */
+    private void insert(int hash, K key, V value)
+    {
+        final int mask = hashes.length - 1;
+        int slot = hash & mask;
+        int probed = 0;
+        while (hashes[slot] != 0)
+        {
+            final int slotDistance = distance(slot, hashes[slot]);
+            if (slotDistance < probed)
+            {
+                final int displacedHash = hashes[slot];
+                final K displacedKey = keys[slot];
+                final V displacedValue = values[slot];
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                hash = displacedHash;
+                key = displacedKey;
+                value = displacedValue;
+                probed = slotDistance;
+            }
+            slot = (slot + 1) & mask;
+            probed++;
+        }
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Moves every entry into a table of the given size, reusing the cached
+     * hashes.
+     *
+     * @param capacity the new number of slots, a power of two
+     */
+    private void resize(final int capacity)
+    {
+        if (hashes.length == MAX_CAPACITY)
+        {
+            throw new IllegalStateException("Map too large");
+        }
+        final int[] oldHashes = hashes;
+        final K[] oldKeys = keys;
+        final V[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldHashes.length; i++)
+        {
+            if (oldHashes[i] != 0)
+            {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Moves through the table from the first slot to the last.
+     *
+     * @return next key in the map
+     */
+    private class IteratorHelper implements Iterator<K>
+    {
+        int index;
+
+        public IteratorHelper()
+        {
+            index = advance(0);
+        }
+
+        private int advance(int slot)
+        {
+            while (slot < hashes.length && hashes[slot] == 0)
+            {
+                slot++;
+            }
+            return slot;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < hashes.length;
+        }
+
+        @Override
+        public K next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            final K tmp = keys[index];
+            index = advance(index + 1);
+            return tmp;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package data_structures;
+
+/**
+ * What a bounded structure does when an element is added while it is full.
+ *
+ * @author Connor Guy
+ */
+
+public enum OverflowPolicy
+{
+    /** Refuse the new element by throwing an IllegalStateException. */
+    REJECT,
+
+    /** Discard the element that has been held the longest to make room. */
+    DROP_OLDEST,
+
+    /** Wait until another thread removes an element. */
+    BLOCK
+}
@@ -0,0 +1,460 @@
+package data_structures;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Implementation of a durable queue of byte records, stored in memory mapped
+ * segment files in a directory rather than on the heap.
+ *
+ * Each record is written to the current segment as an int header followed by
+ * the record's bytes. The header holds the length plus one, and a zero
+ * header marks the end of the written data. An enqueue writes the bytes,
+ * then a zero header after them, and only then the record's own header, so
+ * the data always ends in a zero header even after a crash part way through
+ * an enqueue or when a segment file holds bytes from an earlier use. A header
+ * of -1 means the rest of the segment is unused and reading continues in the
+ * next one. Segments are deleted once the reader has moved past them.
+ *
+ * The read and write positions are kept in a small mapped metadata file.
+ * When the queue is reopened it continues from the saved read position, and
+ * scans forward from the saved write position to pick up any records that
+ * were written after the metadata was last updated. The number of records is
+ * not saved but counted between the two positions on open, so it cannot
+ * disagree with them after a crash. When a position moves to a new segment
+ * its offset is saved before its segment number; a crash in between leaves
+ * the position at the start of the old segment, from which the scan or the
+ * reader simply moves forward again.
+ *
+ * Records are returned as read-only slices of the mapped segment, so
+ * dequeueing copies nothing. A slice stays readable after the reader moves
+ * on, but its contents are only guaranteed until the segment it came from is
+ * deleted.
+ *
+ * Changes reach the operating system's page cache immediately and survive a
+ * crash of the JVM. Call {@link #flush} to force them to disk so they also
+ * survive a crash of the machine.
+ *
+ * {@link #close} drops the queue's mappings; the operating system releases
+ * each one once the garbage collector has reclaimed it and any records
+ * sliced from it. Java has no safe way to unmap a buffer sooner while
+ * slices of it may still be in use.
+ *
+ * This class is not thread-safe.
+ *
+ * @author Connor Guy
+ */
+
+public class PersistentQueue implements Closeable
+{
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int HEADER_SIZE = 4;
+    private static final int ROLL = -1;
+    private static final String META_FILE = "queue.meta";
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    // Offsets of the fields in the metadata file
+    private static final int META_READ_SEGMENT = 0;
+    private static final int META_READ_OFFSET = 8;
+    private static final int META_WRITE_SEGMENT = 12;
+    private static final int META_WRITE_OFFSET = 20;
+    private static final int META_SIZE = 24;
+
+    private final File directory;
+    private final int segmentSize;
+    // Segments the writer has moved past that flush has not yet forced,
+    // oldest first, starting with segment dirtyFrom
+    private final ArrayDeque<MappedByteBuffer> dirty;
+    private long dirtyFrom;
+    private MappedByteBuffer meta;
+
+    private long readSegment, writeSegment;
+    private int readOffset, writeOffset;
+    private MappedByteBuffer readBuffer, writeBuffer;
+    private long count;
+    private boolean closed;
+
+    /**
+     * Opens the queue stored in a directory, creating it if needed, with
+     * 64 MB segments.
+     *
+     * @param directory the directory holding the queue's files.
+     * @throws IOException if the files cannot be created or mapped
+     */
+    public PersistentQueue(final File directory) throws IOException
+    {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the queue stored in a directory, creating it if needed. The
+     * segment size must be the same every time a directory is opened.
+     *
+     * @param directory the directory holding the queue's files.
+     * @param segmentSize the size of each segment file in bytes.
+     * @throws IOException if the files cannot be created or mapped
+     */
+    public PersistentQueue(final File directory, final int segmentSize) throws IOException
+    {
+        if (segmentSize < 2 * HEADER_SIZE)
+        {
+            throw new IllegalArgumentException("Segment size too small");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs())
+        {
+            throw new IOException("Cannot create " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        dirty = new ArrayDeque<MappedByteBuffer>();
+        meta = map(new File(directory, META_FILE), META_SIZE);
+
+        readSegment = meta.getLong(META_READ_SEGMENT);
+        readOffset = meta.getInt(META_READ_OFFSET);
+        writeSegment = meta.getLong(META_WRITE_SEGMENT);
+        writeOffset = meta.getInt(META_WRITE_OFFSET);
+        readBuffer = mapSegment(readSegment);
+        writeBuffer = writeSegment == readSegment ? readBuffer : mapSegment(writeSegment);
+
+        recover();
+        count = countRecords();
+        deleteSegmentsBefore(readSegment);
+    }
+
+    /**
+     * Adds a record to the queue. The bytes between the buffer's position and
+     * limit are copied in, and the buffer's position is left unchanged.
+     *
+     * @param record the bytes of the record.
+     * @throws IOException if a new segment cannot be created
+     */
+    public void enqueue(final ByteBuffer record) throws IOException
+    {
+        ensureOpen();
+        final int length = record.remaining();
+        if (length > segmentSize - 2 * HEADER_SIZE)
+        {
+            throw new IllegalArgumentException("Record larger than a segment");
+        }
+        if (writeOffset + HEADER_SIZE + length > segmentSize)
+        {
+            rollWriteSegment();
+        }
+        final ByteBuffer target = writeBuffer.duplicate();
+        target.position(writeOffset + HEADER_SIZE);
+        target.put(record.duplicate());
+        final int end = writeOffset + HEADER_SIZE + length;
+        if (end + HEADER_SIZE <= segmentSize)
+        {
+            writeBuffer.putInt(end, 0);
+        }
+        // Header last, so a torn write still reads as the end of the data
+        writeBuffer.putInt(writeOffset, length + 1);
+        writeOffset = end;
+        count++;
+        meta.putInt(META_WRITE_OFFSET, writeOffset);
+    }
+
+    /**
+     * Adds a record to the queue.
+     *
+     * @param record the bytes of the record.
+     * @throws IOException if a new segment cannot be created
+     */
+    public void enqueue(final byte[] record) throws IOException
+    {
+        enqueue(ByteBuffer.wrap(record));
+    }
+
+    /**
+     * Removes the oldest record in the queue.
+     *
+     * @return a read-only view of the record, or null if the queue is empty.
+     * @throws IOException if the next segment cannot be mapped
+     */
+    public ByteBuffer dequeue() throws IOException
+    {
+        final ByteBuffer record = peek();
+        if (record == null)
+        {
+            return null;
+        }
+        readOffset += HEADER_SIZE + record.remaining();
+        count--;
+        meta.putInt(META_READ_OFFSET, readOffset);
+        return record;
+    }
+
+    /**
+     * Returns the oldest record in the queue without removing it.
+     *
+     * @return a read-only view of the record, or null if the queue is empty.
+     * @throws IOException if the next segment cannot be mapped
+     */
+    public ByteBuffer peek() throws IOException
+    {
+        ensureOpen();
+        if (isEmpty())
+        {
+            return null;
+        }
+        int header = readHeader(readBuffer, readOffset);
+        while (header == ROLL)
+        {
+            advanceReadSegment();
+            header = readHeader(readBuffer, readOffset);
+        }
+        final ByteBuffer record = readBuffer.duplicate();
+        record.position(readOffset + HEADER_SIZE);
+        record.limit(readOffset + HEADER_SIZE + header - 1);
+        return record.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the number of records in the queue.
+     *
+     * @return size of the queue.
+     */
+    public long size()
+    {
+        return count;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return readSegment == writeSegment && readOffset == writeOffset;
+    }
+
+    /**
+     * Forces every segment written since the last flush, oldest first, and
+     * then the metadata to disk.
+     */
+    public void flush()
+    {
+        ensureOpen();
+        while (!dirty.isEmpty())
+        {
+            dirty.removeFirst().force();
+        }
+        writeBuffer.force();
+        meta.force();
+    }
+
+    /**
+     * Closes the queue, dropping its mappings. Records already written stay
+     * in the page cache as usual; call flush first to force them to disk.
+     * Closing a closed queue has no effect.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        dirty.makeEmpty();
+        readBuffer = writeBuffer = meta = null;
+    }
+
+    private void ensureOpen()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Queue is closed");
+        }
+    }
+
+    /**
+     * Moves the writer to a fresh segment, marking the rest of the current
+     * one as unused.
+     */
+    private void rollWriteSegment() throws IOException
+    {
+        final MappedByteBuffer next = mapSegment(writeSegment + 1);
+        next.putInt(0, 0);
+        if (segmentSize - writeOffset >= HEADER_SIZE)
+        {
+            writeBuffer.putInt(writeOffset, ROLL);
+        }
+        if (dirty.isEmpty())
+        {
+            dirtyFrom = writeSegment;
+        }
+        dirty.addLast(writeBuffer);
+        writeSegment++;
+        writeOffset = 0;
+        writeBuffer = next;
+        meta.putInt(META_WRITE_OFFSET, writeOffset);
+        meta.putLong(META_WRITE_SEGMENT, writeSegment);
+    }
+
+    /**
+     * Moves the reader to the next segment and deletes the one it left. A
+     * deleted segment no longer needs forcing, so it is dropped from the
+     * dirty list, which keeps that list no longer than the unread backlog.
+     */
+    private void advanceReadSegment() throws IOException
+    {
+        final long finished = readSegment;
+        if (!dirty.isEmpty() && dirtyFrom == finished)
+        {
+            dirty.removeFirst();
+            dirtyFrom++;
+        }
+        readSegment++;
+        readOffset = 0;
+        readBuffer = readSegment == writeSegment ? writeBuffer : mapSegment(readSegment);
+        meta.putInt(META_READ_OFFSET, readOffset);
+        meta.putLong(META_READ_SEGMENT, readSegment);
+        segmentFile(finished).delete();
+    }
+
+    /**
+     * Reads a record header, treating the space too small for a header at
+     * the end of a segment like a roll marker.
+     */
+    private int readHeader(final ByteBuffer buffer, final int offset)
+    {
+        if (offset + HEADER_SIZE > segmentSize)
+        {
+            return ROLL;
+        }
+        return buffer.getInt(offset);
+    }
+
+    /**
+     * Walks forward from the saved write position over any records written
+     * after the metadata was last updated. A header whose length runs past
+     * the end of the segment cannot have been written by enqueue, so it is
+     * treated as the end of the data.
+     */
+    private void recover() throws IOException
+    {
+        while (true)
+        {
+            final int header = readHeader(writeBuffer, writeOffset);
+            if (header == 0)
+            {
+                break;
+            }
+            if (header == ROLL)
+            {
+                if (!segmentFile(writeSegment + 1).exists())
+                {
+                    break;
+                }
+                writeSegment++;
+                writeOffset = 0;
+                writeBuffer = mapSegment(writeSegment);
+                continue;
+            }
+            if (header < 0 || header - 1 > segmentSize - writeOffset - HEADER_SIZE)
+            {
+                break;
+            }
+            writeOffset += HEADER_SIZE + header - 1;
+        }
+        meta.putInt(META_WRITE_OFFSET, writeOffset);
+        meta.putLong(META_WRITE_SEGMENT, writeSegment);
+    }
+
+    /**
+     * Counts the records between the read and write positions, following
+     * roll markers from segment to segment. Stops early at anything enqueue
+     * could not have written, like recover.
+     */
+    private long countRecords() throws IOException
+    {
+        long records = 0;
+        long segment = readSegment;
+        int offset = readOffset;
+        ByteBuffer buffer = readBuffer;
+        while (segment < writeSegment || (segment == writeSegment && offset < writeOffset))
+        {
+            final int header = readHeader(buffer, offset);
+            if (header == ROLL)
+            {
+                segment++;
+                offset = 0;
+                buffer = segment == writeSegment ? writeBuffer : mapSegment(segment);
+                continue;
+            }
+            if (header <= 0 || header - 1 > segmentSize - offset - HEADER_SIZE)
+            {
+                break;
+            }
+            offset += HEADER_SIZE + header - 1;
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Deletes segment files left behind by a reader that crashed after
+     * moving on but before deleting them. Files whose names are not a
+     * segment number are left alone.
+     */
+    private void deleteSegmentsBefore(final long segment)
+    {
+        final File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+        for (File file : files)
+        {
+            final String name = file.getName();
+            if (!name.endsWith(SEGMENT_SUFFIX))
+            {
+                continue;
+            }
+            final long index;
+            try
+            {
+                index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            }
+            catch (NumberFormatException e)
+            {
+                continue;
+            }
+            if (index < segment)
+            {
+                file.delete();
+            }
+        }
+    }
+
+    private File segmentFile(final long segment)
+    {
+        return new File(directory, String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private MappedByteBuffer mapSegment(final long segment) throws IOException
+    {
+        return map(segmentFile(segment), segmentSize);
+    }
+
+    /**
+     * Maps a whole file, creating and zero filling it to the given size if
+     * it is shorter.
+     */
+    private static MappedByteBuffer map(final File file, final int size) throws IOException
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            if (raf.length() < size)
+            {
+                raf.setLength(size);
+            }
+            // The mapping stays valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
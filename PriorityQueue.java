@@ -0,0 +1,327 @@
+package data_structures;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of a priority queue using generic arguments, and a d-ary
+ * heap stored in an array. The smallest object according to the comparator
+ * is dequeued first. enqueue, dequeue and decreaseKey take O(log n) time.
+ *
+ * A higher arity makes the heap shallower, so fewer levels are touched per
+ * operation and the children compared at each level sit next to each other
+ * in memory. The objects are kept in their own array for this reason, with
+ * the handles in a second array at the same positions, so sifting compares
+ * neighbouring slots rather than following a handle per child. The default
+ * arity of four is usually a good compromise.
+ *
+ * enqueue returns a {@link Handle} to the entry, which can later be passed to
+ * decreaseKey on the same queue to move the entry forward.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class PriorityQueue<E>
+{
+    /**
+     * A reference to an entry in the queue, used to change its priority.
+     *
+     * @param <E> the type of elements in the queue
+     */
+    public static final class Handle<E>
+    {
+        private final PriorityQueue<E> owner;
+        private E data;
+        private int position;
+
+        private Handle(final PriorityQueue<E> owner, final E data, final int position)
+        {
+            this.owner = owner;
+            this.data = data;
+            this.position = position;
+        }
+
+        /**
+         * Returns the object this handle refers to.
+         *
+         * @return the object in the entry
+         */
+        public E get()
+        {
+            return data;
+        }
+
+        /**
+         * Test whether the entry is still in the queue.
+         *
+         * @return true if the entry has not been dequeued
+         */
+        public boolean isQueued()
+        {
+            return position >= 0;
+        }
+    }
+
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private final Comparator<? super E> comparator;
+    private E[] keys;
+    private Handle<E>[] handles;
+    private int currentSize;
+
+    /**
+     * Creates a 4-ary queue ordered by the objects' compareTo method.
+     */
+    public PriorityQueue()
+    {
+        this(DEFAULT_ARITY, null);
+    }
+
+    /**
+     * Creates a 4-ary queue ordered by the comparator.
+     *
+     * @param comparator the ordering, or null to use compareTo.
+     */
+    public PriorityQueue(final Comparator<? super E> comparator)
+    {
+        this(DEFAULT_ARITY, comparator);
+    }
+
+    /**
+     * Creates a queue with the given number of children per heap node.
+     *
+     * @param arity the number of children per node, at least two.
+     * @param comparator the ordering, or null to use compareTo.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PriorityQueue(final int arity, final Comparator<? super E> comparator)
+    {
+        if (arity < 2)
+        {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.comparator = comparator;
+        keys = (E[]) new Object[DEFAULT_CAPACITY];
+        handles = (Handle<E>[]) new Handle[DEFAULT_CAPACITY];
+        currentSize = 0;
+    }
+
+    /**
+     * Adds an object to the queue.
+     *
+     * @param obj the object to be added to the queue.
+     * @return a handle that can be passed to decreaseKey
+     */
+    public Handle<E> enqueue(final E obj)
+    {
+        if (currentSize == keys.length)
+        {
+            final int capacity = keys.length << 1;
+            @SuppressWarnings("unchecked")
+            final E[] largerKeys = (E[]) new Object[capacity];
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            final Handle<E>[] largerHandles = (Handle<E>[]) new Handle[capacity];
+            System.arraycopy(keys, 0, largerKeys, 0, currentSize);
+            System.arraycopy(handles, 0, largerHandles, 0, currentSize);
+            keys = largerKeys;
+            handles = largerHandles;
+        }
+        final Handle<E> handle = new Handle<E>(this, obj, currentSize);
+        siftUp(currentSize++, obj, handle);
+        return handle;
+    }
+
+    /**
+     * Removes the smallest item in the queue.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final E first = keys[0];
+        handles[0].position = -1;
+        final int last = --currentSize;
+        final E lastKey = keys[last];
+        final Handle<E> lastHandle = handles[last];
+        keys[last] = null;
+        handles[last] = null;
+        if (last > 0)
+        {
+            siftDown(0, lastKey, lastHandle);
+        }
+        return first;
+    }
+
+    /**
+     * Returns what is next to be dequeued
+     *
+     * @return smallest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        return keys[0];
+    }
+
+    /**
+     * Replaces the object in a queued entry with one that is no larger,
+     * moving the entry forward in the queue.
+     *
+     * @param handle the entry returned by enqueue on this queue.
+     * @param obj the new object, which must not compare greater than the
+     *        current one.
+     * @throws NoSuchElementException if the handle came from another queue
+     *         or its entry has already been dequeued
+     */
+    public void decreaseKey(final Handle<E> handle, final E obj)
+    {
+        if (handle.owner != this || !handle.isQueued())
+        {
+            throw new NoSuchElementException("Entry is not in this queue");
+        }
+        if (compare(obj, handle.data) > 0)
+        {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+        handle.data = obj;
+        siftUp(handle.position, obj, handle);
+    }
+
+    /**
+     * Returns the current size of the queue.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return currentSize == 0;
+    }
+
+    /**
+     * Return the queue to an empty state. Outstanding handles are marked as
+     * no longer queued.
+     */
+    public void makeEmpty()
+    {
+        for (int i = 0; i < currentSize; i++)
+        {
+            handles[i].position = -1;
+            handles[i] = null;
+            keys[i] = null;
+        }
+        currentSize = 0;
+    }
+
+    /**
+     * Moves an entry from position towards the root until its parent is no
+     * larger, then stores it where it stops.
+     *
+     * @param position the index the entry starts at
+     * @param key the entry's object
+     * @param handle the entry's handle
+     */
+    private void siftUp(int position, final E key, final Handle<E> handle)
+    {
+        while (position > 0)
+        {
+            final int parent = (position - 1) / arity;
+            if (compare(key, keys[parent]) >= 0)
+            {
+                break;
+            }
+            place(position, keys[parent], handles[parent]);
+            position = parent;
+        }
+        place(position, key, handle);
+    }
+
+    /**
+     * Moves an entry from position away from the root until none of its
+     * children are smaller, then stores it where it stops.
+     *
+     * @param position the index the entry starts at
+     * @param key the entry's object
+     * @param handle the entry's handle
+     */
+    private void siftDown(int position, final E key, final Handle<E> handle)
+    {
+        while (true)
+        {
+            final int firstChild = position * arity + 1;
+            if (firstChild >= currentSize)
+            {
+                break;
+            }
+            final int lastChild = Math.min(firstChild + arity, currentSize);
+            int smallest = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++)
+            {
+                if (compare(keys[child], keys[smallest]) < 0)
+                {
+                    smallest = child;
+                }
+            }
+            if (compare(keys[smallest], key) >= 0)
+            {
+                break;
+            }
+            place(position, keys[smallest], handles[smallest]);
+            position = smallest;
+        }
+        place(position, key, handle);
+    }
+
+    /**
+     * Stores an entry at position in both arrays and tells its handle.
+     *
+     * @param position the index to store the entry at
+     * @param key the entry's object
+     * @param handle the entry's handle
+     */
+    private void place(final int position, final E key, final Handle<E> handle)
+    {
+        keys[position] = key;
+        handles[position] = handle;
+        handle.position = position;
+    }
+
+    /**
+     * Compares two objects with the comparator, or with compareTo if there is
+     * none.
+     *
+     * @param a the first object
+     * @param b the second object
+     * @return negative, zero or positive as a is less than, equal to or
+     *         greater than b
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(final E a, final E b)
+    {
+        if (comparator == null)
+        {
+            return ((Comparable<E>) a).compareTo(b);
+        }
+        return comparator.compare(a, b);
+    }
+}
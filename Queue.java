@@ -1,16 +1,21 @@
 package data_structures;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.function.ToLongFunction;
 
 /**
  * Implementation of a queue using generic arguments, and a linked list
- * structure.
+ * structure. Objects are enqueued at the tail of the list and dequeued from
+ * the head, so the oldest object is always first. The default list is singly
+ * linked and can only remove from its head in constant time, which is why
+ * the queue is laid out this way round.
  *
  * @author Connor Guy
  * @param <E> the type of elements in this queue
  */
 
-public class Queue<E>
+public class Queue<E> implements MemoryFootprint
 {
     private ListI<E> list;
 
@@ -19,6 +24,18 @@ public class Queue<E>
         list = new LinkedList<E>();
     }
 
+    /**
+     * Creates a queue on top of the given list, which should be empty. This
+     * allows an array backed list such as {@link ArrayDeque} to be used in
+     * place of the default {@link LinkedList}.
+     *
+     * @param list the list used to store the queue.
+     */
+    public Queue(final ListI<E> list)
+    {
+        this.list = list;
+    }
+
     /**
      * Adds an object to the queue.
      *
@@ -26,17 +43,67 @@ public class Queue<E>
      */
     public void enqueue(final E obj)
     {
-        list.addFirst(obj);
+        list.addLast(obj);
     }
 
     /**
-     * Removes the last item in the queue.
+     * Removes the oldest item in the queue.
      *
      * @return the object removed.
      */
     public E dequeue()
     {
-        return list.removeLast();
+        return list.removeFirst();
+    }
+
+    /**
+     * Adds every object from the source to the queue, in the order the
+     * source returns them.
+     *
+     * @param source the objects to be added to the queue.
+     */
+    public void addAll(final Iterable<? extends E> source)
+    {
+        list.addAll(source);
+    }
+
+    /**
+     * Adds a run of objects from an array to the queue, in array order.
+     *
+     * @param source the array holding the objects to be added.
+     * @param offset the index of the first object to add.
+     * @param length the number of objects to add.
+     */
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        list.addAllLast(source, offset, length);
+    }
+
+    /**
+     * Removes up to max objects from the queue and adds them to the
+     * collection in the order they are dequeued.
+     *
+     * @param target the collection to add the removed objects to.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    public int drainTo(final Collection<? super E> target, final int max)
+    {
+        return list.drainTo(target, max);
+    }
+
+    /**
+     * Removes up to max objects from the queue and stores them in the array
+     * starting at offset, in the order they are dequeued.
+     *
+     * @param target the array to store the removed objects in.
+     * @param offset the index to store the first object at.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        return list.drainTo(target, offset, max);
     }
 
     /**
@@ -59,19 +126,30 @@ public class Queue<E>
         return list.isEmpty();
     }
 
+    /**
+     * Test whether the queue is full.
+     *
+     * @return true if the queue is full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return list.isFull();
+    }
+
     /**
      * Returns what is next to be dequeued
      *
-     * @return last object in the queue
+     * @return oldest object in the queue
      */
     public E peek()
     {
-        return list.peekLast();
+        return list.peekFirst();
     }
 
     /**
-     * Test whether the queue contains an object. This will use the object's
-     * compareTo method to determine whether two objects are the same.
+     * Test whether the queue contains an object, using the backing list's
+     * test of whether two objects are the same: compareTo for most lists,
+     * equals for the default {@link LinkedList}.
      *
      * @param obj The object to look for in the queue
      * @return true if the object is found in the queue, false if it is not
@@ -91,9 +169,43 @@ public class Queue<E>
         list.makeEmpty();
     }
 
+    /**
+     * Estimates the shallow footprint of the queue: the queue object and the list
+     * it is stored in, if the list can estimate its own footprint.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        long total = ObjectLayout.objectSize(1, 0, 0, 0);
+        if (list instanceof MemoryFootprint)
+        {
+            total += ((MemoryFootprint) list).estimateBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the deep footprint of the queue: the shallow footprint plus
+     * the size of every element as reported by payloadSize.
+     *
+     * @param payloadSize returns the size in bytes of one element.
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes(final ToLongFunction<? super E> payloadSize)
+    {
+        long total = estimateBytes();
+        for (E obj : list)
+        {
+            total += payloadSize.applyAsLong(obj);
+        }
+        return total;
+    }
+
     /**
      * Returns an Iterator of the values in the queue, presented in
-     * the same order as the queue.
+     * the same order as the queue, oldest first.
      *
      * @see java.lang.Iterable#iterator()
      */
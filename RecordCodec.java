@@ -0,0 +1,42 @@
+package data_structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts objects to and from fixed-size records in a ByteBuffer, so that
+ * off-heap structures can store them as bytes rather than as objects.
+ *
+ * Implementations must use the absolute get and put methods of the buffer
+ * and only touch the recordSize bytes starting at offset.
+ *
+ * @author Connor Guy
+ * @param <E> the type of objects encoded
+ */
+
+public interface RecordCodec<E>
+{
+    /**
+     * Returns the number of bytes each record occupies.
+     *
+     * @return the record size in bytes
+     */
+    public int recordSize();
+
+    /**
+     * Writes an object into the buffer as a record.
+     *
+     * @param obj the object to encode
+     * @param buffer the buffer to write to
+     * @param offset the index of the first byte of the record
+     */
+    public void encode(E obj, ByteBuffer buffer, int offset);
+
+    /**
+     * Reads a record from the buffer back into an object.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the index of the first byte of the record
+     * @return the decoded object
+     */
+    public E decode(ByteBuffer buffer, int offset);
+}
@@ -0,0 +1,177 @@
+package data_structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The direct ByteBuffer slabs behind {@link OffHeapQueue} and
+ * {@link OffHeapStack}. Slabs are held in order, oldest first; records are
+ * always written into the newest slab, and either end can be released once
+ * its records have been read. One released slab is kept back for reuse so a
+ * structure that hovers around a slab boundary does not keep allocating
+ * direct memory.
+ *
+ * @author Connor Guy
+ * @param <E> the type of objects stored
+ */
+
+final class RecordSlabs<E>
+{
+    private final RecordCodec<E> codec;
+    private final int recordSize, recordsPerSlab;
+    private final ListI<ByteBuffer> slabs;
+    private ByteBuffer spare;
+    private boolean closed;
+
+    /**
+     * @param codec converts objects to and from records.
+     * @param recordsPerSlab the number of records in each direct buffer.
+     * @throws IllegalArgumentException if a slab would not fit in a buffer
+     */
+    RecordSlabs(final RecordCodec<E> codec, final int recordsPerSlab)
+    {
+        if (recordsPerSlab < 1 || codec.recordSize() < 1
+                || (long) recordsPerSlab * codec.recordSize() > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Slab size out of range");
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.recordsPerSlab = recordsPerSlab;
+        slabs = new ArrayDeque<ByteBuffer>();
+        spare = null;
+        closed = false;
+    }
+
+    /**
+     * Returns the number of records each slab holds.
+     *
+     * @return the records per slab
+     */
+    int recordsPerSlab()
+    {
+        return recordsPerSlab;
+    }
+
+    /**
+     * Returns the number of slabs in use.
+     *
+     * @return the slab count
+     */
+    int count()
+    {
+        return slabs.size();
+    }
+
+    /**
+     * Returns the number of slabs held, including the spare.
+     *
+     * @return the slabs in use plus the spare, if any
+     */
+    int held()
+    {
+        return slabs.size() + (spare == null ? 0 : 1);
+    }
+
+    /**
+     * Adds an empty slab after the newest one, reusing the spare if there is
+     * one.
+     */
+    void grow()
+    {
+        ensureOpen();
+        if (spare != null)
+        {
+            slabs.addLast(spare);
+            spare = null;
+        }
+        else
+        {
+            slabs.addLast(ByteBuffer.allocateDirect(recordsPerSlab * recordSize));
+        }
+    }
+
+    /**
+     * Writes an object into the newest slab.
+     *
+     * @param obj the object to store
+     * @param record the position of the record in the slab
+     */
+    void encodeLast(final E obj, final int record)
+    {
+        codec.encode(obj, slabs.peekLast(), record * recordSize);
+    }
+
+    /**
+     * Reads an object from the oldest slab.
+     *
+     * @param record the position of the record in the slab
+     * @return the decoded object
+     */
+    E decodeFirst(final int record)
+    {
+        return codec.decode(slabs.peekFirst(), record * recordSize);
+    }
+
+    /**
+     * Reads an object from the newest slab.
+     *
+     * @param record the position of the record in the slab
+     * @return the decoded object
+     */
+    E decodeLast(final int record)
+    {
+        return codec.decode(slabs.peekLast(), record * recordSize);
+    }
+
+    /**
+     * Releases the oldest slab, keeping it as the spare.
+     */
+    void releaseFirst()
+    {
+        spare = slabs.removeFirst();
+    }
+
+    /**
+     * Releases the newest slab, keeping it as the spare.
+     */
+    void releaseLast()
+    {
+        spare = slabs.removeLast();
+    }
+
+    /**
+     * Releases every slab, keeping one as the spare.
+     */
+    void clear()
+    {
+        if (!slabs.isEmpty())
+        {
+            spare = slabs.peekFirst();
+            slabs.makeEmpty();
+        }
+    }
+
+    /**
+     * Drops every slab and the spare, so their direct memory is returned
+     * once the buffers are collected. Later use throws.
+     */
+    void close()
+    {
+        closed = true;
+        slabs.makeEmpty();
+        spare = null;
+    }
+
+    /**
+     * Throws if the slabs have been closed.
+     *
+     * @throws IllegalStateException if close has been called
+     */
+    void ensureOpen()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Off-heap storage is closed");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package data_structures;
 
 import java.util.Iterator;
+import java.util.function.ToLongFunction;
 
 /**
  * RedBlackTree. A data structure that maintains a balanced
@@ -9,7 +10,7 @@ import java.util.Iterator;
  * @param <K>
  * @param <V>
  */
-public class RedBlackTree<K, V> implements RedBlackI<K, V>
+public class RedBlackTree<K, V> implements RedBlackI<K, V>, MemoryFootprint
 {
 
     private class Node<K, V>
@@ -99,6 +100,71 @@ public class RedBlackTree<K, V> implements RedBlackI<K, V>
         return getValue(key, node.left);
     }
 
+    /**
+     * Returns the number of nodes a search for the key visits, which is the
+     * depth of the key's node plus one if it is in the tree, or the depth at
+     * which it would be added if it is not.
+     *
+     * @param key the key to look for
+     * @return the number of nodes visited
+     */
+    @SuppressWarnings("unchecked")
+    public int depth(K key)
+    {
+        int visited = 0;
+        Node<K, V> node = root;
+        while (node != null)
+        {
+            visited++;
+            int comparison = ((Comparable<K>) key).compareTo(node.key);
+            if (comparison == 0)
+            {
+                break;
+            }
+            node = comparison > 0 ? node.right : node.left;
+        }
+        return visited;
+    }
+
+    /**
+     * Estimates the shallow footprint of the tree: the tree itself and a node
+     * per entry, not counting the keys and values.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        // Node is an inner class, so it also holds a reference to the tree
+        return ObjectLayout.objectSize(1, 1, 0, 0)
+                + (long) currentSize * ObjectLayout.objectSize(6, 0, 0, 2);
+    }
+
+    /**
+     * Estimates the deep footprint of the tree: the shallow footprint plus
+     * the size of every key and value.
+     *
+     * @param keySize returns the size in bytes of one key
+     * @param valueSize returns the size in bytes of one value
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes(ToLongFunction<? super K> keySize, ToLongFunction<? super V> valueSize)
+    {
+        return estimateBytes() + payloadBytes(root, keySize, valueSize);
+    }
+
+    private long payloadBytes(Node<K, V> node, ToLongFunction<? super K> keySize,
+            ToLongFunction<? super V> valueSize)
+    {
+        if (node == null)
+        {
+            return 0;
+        }
+        return keySize.applyAsLong(node.key) + valueSize.applyAsLong(node.value)
+                + payloadBytes(node.left, keySize, valueSize)
+                + payloadBytes(node.right, keySize, valueSize);
+    }
+
     /**
      * Returns the number of elements in the RBTree
      *
@@ -514,6 +580,7 @@ public class RedBlackTree<K, V> implements RedBlackI<K, V>
         {
             keys = (K[]) new Object[currentSize];
             traverse(root);
+            position = 0;
         }
 
         private void traverse(Node<K, V> node)
@@ -0,0 +1,86 @@
+package data_structures;
+
+/**
+ * The index arithmetic shared by the circular-array structures
+ * ({@link ArrayDeque}, {@link IntList} and {@link LongQueue}). Their arrays
+ * always have a power-of-two length, so a position is wrapped with a mask
+ * instead of a modulo, and growing doubles the array while unwrapping the
+ * contents so the first element lands at index zero.
+ *
+ * @author Connor Guy
+ */
+
+final class RingBuffers
+{
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private RingBuffers()
+    {
+    }
+
+    /**
+     * Rounds a requested capacity up to the power of two an array should
+     * have.
+     *
+     * @param capacity the requested capacity
+     * @return a power of two no smaller than capacity, and at least one
+     * @throws IllegalArgumentException if capacity is negative or too large
+     */
+    static int capacityFor(final int capacity)
+    {
+        if (capacity < 0)
+        {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        if (capacity > MAX_CAPACITY)
+        {
+            throw new IllegalArgumentException("Capacity too large");
+        }
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Wraps a position into an array of the given length.
+     *
+     * @param position a position, possibly past the end or negative
+     * @param length the array length, a power of two
+     * @return the array index
+     */
+    static int wrap(final int position, final int length)
+    {
+        return position & (length - 1);
+    }
+
+    /**
+     * Returns the length of the array to grow into.
+     *
+     * @param length the current length
+     * @param name what to call the structure if it cannot grow
+     * @return twice the current length
+     * @throws IllegalStateException if the array is already as large as
+     *         allowed
+     */
+    static int doubled(final int length, final String name)
+    {
+        if (length == MAX_CAPACITY)
+        {
+            throw new IllegalStateException(name + " too large");
+        }
+        return length << 1;
+    }
+
+    /**
+     * Copies a full circular array into a larger one of the same type,
+     * starting at index zero.
+     *
+     * @param source the full array
+     * @param head the index of the first element in source
+     * @param target the larger array
+     */
+    static void unwrap(final Object source, final int head, final Object target)
+    {
+        final int length = java.lang.reflect.Array.getLength(source);
+        System.arraycopy(source, head, target, 0, length - head);
+        System.arraycopy(source, 0, target, length - head, head);
+    }
+}
@@ -0,0 +1,332 @@
+package data_structures;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implementation of a concurrent queue split into independent lanes, each a
+ * lock-free {@link ConcurrentQueue}. Producers are spread over the lanes, so
+ * many threads enqueueing at once rarely touch the same lane and throughput
+ * scales close to linearly with the number of lanes.
+ *
+ * The price is relaxed FIFO ordering: objects come out in the order they went
+ * into their own lane, but there is no ordering between lanes. With
+ * {@link LaneSelection#THREAD} each producer's objects stay in order, and with
+ * {@link LaneSelection#HASH} equal objects stay in order. A queue with a
+ * single lane is strictly FIFO.
+ *
+ * Relaxed ordering is an option, {@link Ordering#RELAXED}, and the default.
+ * With {@link Ordering#FIFO} every enqueue and dequeue takes a ticket from a
+ * shared counter and the ticket picks the lane, so objects come out in
+ * exactly the order they went in. The lanes still spread the memory traffic,
+ * but the counters are shared, and a thread can have to wait for a slower
+ * thread holding the ticket before its own, so this mode scales less well.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class ShardedQueue<E>
+{
+    /** How enqueue picks a lane. */
+    public enum LaneSelection
+    {
+        /**
+         * Each producer thread always uses the same lane, picked by hashing
+         * the thread's id. Two threads can hash to the same lane, and with
+         * more producers than lanes some always will; those producers then
+         * contend on that lane as they would on a single queue.
+         */
+        THREAD,
+
+        /** Each object goes to a lane picked by its hash code. */
+        HASH
+    }
+
+    /** How dequeue picks the lanes to look in. */
+    public enum DequeueMode
+    {
+        /**
+         * Each consumer starts one lane further on every call, beginning at
+         * its own lane, so consumers do not all start at the same lane.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Consumers look in their own lane first and steal from the others
+         * only when it is empty.
+         */
+        WORK_STEALING
+    }
+
+    /** Whether the queue keeps a single order across lanes. */
+    public enum Ordering
+    {
+        /** Objects are ordered only within their lane. */
+        RELAXED,
+
+        /**
+         * Objects are dequeued in the order they were enqueued. The lane
+         * selection and dequeue mode are not used.
+         */
+        FIFO
+    }
+
+    private final ConcurrentQueue<E>[] lanes;
+    private final int mask;
+    private final LaneSelection selection;
+    private final DequeueMode mode;
+    private final Ordering ordering;
+    private final ThreadLocal<int[]> cursor;
+
+    // Used only with Ordering.FIFO. Ticket t belongs to lane t & mask, and is
+    // the (t >>> laneShift)th object through that lane; the turns say which
+    // of those each lane is waiting for next.
+    private final int laneShift;
+    private final AtomicLong enqueueTicket, dequeueTicket;
+    private final AtomicLongArray enqueueTurns, dequeueTurns;
+
+    /**
+     * Creates a queue with one lane per available processor, thread-affine
+     * enqueue and work-stealing dequeue.
+     */
+    public ShardedQueue()
+    {
+        this(Runtime.getRuntime().availableProcessors(), LaneSelection.THREAD,
+                DequeueMode.WORK_STEALING);
+    }
+
+    /**
+     * Creates a queue with relaxed ordering.
+     *
+     * @param lanes the number of lanes, rounded up to a power of two.
+     * @param selection how enqueue picks a lane.
+     * @param mode how dequeue picks the lanes to look in.
+     */
+    public ShardedQueue(final int lanes, final LaneSelection selection, final DequeueMode mode)
+    {
+        this(lanes, selection, mode, Ordering.RELAXED);
+    }
+
+    /**
+     * Creates a queue.
+     *
+     * @param lanes the number of lanes, rounded up to a power of two.
+     * @param selection how enqueue picks a lane.
+     * @param mode how dequeue picks the lanes to look in.
+     * @param ordering whether to keep a single order across lanes.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ShardedQueue(final int lanes, final LaneSelection selection, final DequeueMode mode,
+            final Ordering ordering)
+    {
+        if (lanes < 1 || lanes > (1 << 16))
+        {
+            throw new IllegalArgumentException("Lane count out of range");
+        }
+        final int count = RingBuffers.capacityFor(lanes);
+        this.lanes = (ConcurrentQueue<E>[]) new ConcurrentQueue[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.lanes[i] = new ConcurrentQueue<E>();
+        }
+        mask = count - 1;
+        this.selection = selection;
+        this.mode = mode;
+        this.ordering = ordering;
+        cursor = ThreadLocal.withInitial(() -> new int[] { homeLane() });
+        laneShift = Integer.numberOfTrailingZeros(count);
+        enqueueTicket = new AtomicLong(0);
+        dequeueTicket = new AtomicLong(0);
+        enqueueTurns = new AtomicLongArray(count);
+        dequeueTurns = new AtomicLongArray(count);
+    }
+
+    /**
+     * Adds an object to the queue.
+     *
+     * @param obj the object to be added to the queue, which must not be null.
+     */
+    public void enqueue(final E obj)
+    {
+        if (obj == null)
+        {
+            throw new NullPointerException("Queue does not accept null");
+        }
+        if (ordering == Ordering.FIFO)
+        {
+            enqueueInOrder(obj);
+            return;
+        }
+        final int lane = selection == LaneSelection.HASH ? Hashing.spread(obj.hashCode()) : homeLane();
+        lanes[lane & mask].enqueue(obj);
+    }
+
+    /**
+     * Removes an object from the queue. With relaxed ordering it is the
+     * oldest object in the lane it came from, but not necessarily in the
+     * whole queue.
+     *
+     * @return the object removed, or null if every lane was empty.
+     */
+    public E dequeue()
+    {
+        if (ordering == Ordering.FIFO)
+        {
+            return dequeueInOrder();
+        }
+        final int start;
+        if (mode == DequeueMode.WORK_STEALING)
+        {
+            final int home = homeLane() & mask;
+            final E tmp = lanes[home].dequeue();
+            if (tmp != null || lanes.length == 1)
+            {
+                return tmp;
+            }
+            start = ThreadLocalRandom.current().nextInt(lanes.length);
+        }
+        else
+        {
+            start = cursor.get()[0]++;
+        }
+        for (int i = 0; i < lanes.length; i++)
+        {
+            final E tmp = lanes[(start + i) & mask].dequeue();
+            if (tmp != null)
+            {
+                return tmp;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the current size of the queue. While other threads are
+     * enqueueing or dequeueing this is only an estimate.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        int total = 0;
+        for (ConcurrentQueue<E> lane : lanes)
+        {
+            total += lane.size();
+        }
+        return total;
+    }
+
+    /**
+     * Returns true if every lane is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        for (ConcurrentQueue<E> lane : lanes)
+        {
+            if (!lane.isEmpty())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of lanes.
+     *
+     * @return the lane count
+     */
+    public int lanes()
+    {
+        return lanes.length;
+    }
+
+    /**
+     * Takes the next enqueue ticket and adds the object to its lane once
+     * every earlier ticket for that lane has been added.
+     *
+     * @param obj the object to add
+     */
+    private void enqueueInOrder(final E obj)
+    {
+        final long ticket = enqueueTicket.getAndIncrement();
+        final int lane = (int) ticket & mask;
+        final long turn = ticket >>> laneShift;
+        awaitTurn(enqueueTurns, lane, turn);
+        lanes[lane].enqueue(obj);
+        enqueueTurns.set(lane, turn + 1);
+    }
+
+    /**
+     * Takes the next dequeue ticket, if an enqueue has already taken it, and
+     * removes that ticket's object from its lane, waiting for it to arrive if
+     * its producer has not finished adding it.
+     *
+     * @return the object removed, or null if the queue was empty
+     */
+    private E dequeueInOrder()
+    {
+        long ticket;
+        do
+        {
+            ticket = dequeueTicket.get();
+            if (ticket >= enqueueTicket.get())
+            {
+                return null;
+            }
+        }
+        while (!dequeueTicket.compareAndSet(ticket, ticket + 1));
+        final int lane = (int) ticket & mask;
+        final long turn = ticket >>> laneShift;
+        awaitTurn(dequeueTurns, lane, turn);
+        E tmp = lanes[lane].dequeue();
+        for (int spins = 0; tmp == null; spins++)
+        {
+            backOff(spins);
+            tmp = lanes[lane].dequeue();
+        }
+        dequeueTurns.set(lane, turn + 1);
+        return tmp;
+    }
+
+    /**
+     * Waits until a lane's turn counter reaches the given turn.
+     */
+    private static void awaitTurn(final AtomicLongArray turns, final int lane, final long turn)
+    {
+        for (int spins = 0; turns.get(lane) != turn; spins++)
+        {
+            backOff(spins);
+        }
+    }
+
+    /**
+     * Spins briefly, then yields, so a thread waiting on another that has
+     * been descheduled gives up the processor.
+     */
+    private static void backOff(final int spins)
+    {
+        if (spins < 64)
+        {
+            Thread.onSpinWait();
+        }
+        else
+        {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Returns the lane belonging to the calling thread.
+     *
+     * @return an unmasked lane number
+     */
+    private static int homeLane()
+    {
+        return Hashing.spread((int) Thread.currentThread().getId());
+    }
+}
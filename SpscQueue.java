@@ -0,0 +1,287 @@
+package data_structures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of a bounded queue for exactly one producer thread and one
+ * consumer thread, using generic arguments and a preallocated ring buffer.
+ *
+ * The producer only writes the tail sequence and the consumer only writes
+ * the head sequence, so neither side needs a lock or a compare-and-set. Each
+ * side publishes its progress with a release write and keeps a cached copy
+ * of the other side's sequence, only rereading it when the cached value says
+ * the buffer is full or empty. Each sequence and the cache of its owner are
+ * padded on both sides into a cache line of their own, so the only line the
+ * two threads both write is never shared with the buffer or another
+ * sequence.
+ *
+ * Calling the producer methods from more than one thread, or the consumer
+ * methods from more than one thread, is not supported.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this queue
+ */
+
+public class SpscQueue<E>
+{
+    /** Fills the cache line before a sequence. */
+    private abstract static class LeftPadding
+    {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    /**
+     * The sequence one thread publishes, and that thread's cached copy of
+     * the other thread's sequence. Superclass fields are laid out first, so
+     * these sit between the two paddings.
+     */
+    private abstract static class SequenceFields extends LeftPadding
+    {
+        volatile long value;
+        long cached;
+    }
+
+    /** A sequence padded out to its own cache line on both sides. */
+    private static final class Sequence extends SequenceFields
+    {
+        private static final VarHandle VALUE;
+
+        static
+        {
+            try
+            {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceFields.class, "value", long.class);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        long get()
+        {
+            return value;
+        }
+
+        void lazySet(final long newValue)
+        {
+            VALUE.setRelease(this, newValue);
+        }
+    }
+
+    private final E[] buffer;
+    private final int mask;
+
+    // Written by the consumer; head.cached is its copy of the tail
+    private final Sequence head;
+
+    // Written by the producer; tail.cached is its copy of the head
+    private final Sequence tail;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity the most objects the queue will hold, rounded up to a
+     *        power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public SpscQueue(final int capacity)
+    {
+        if (capacity < 1 || capacity > (1 << 30))
+        {
+            throw new IllegalArgumentException("Capacity out of range");
+        }
+        final int length = RingBuffers.capacityFor(capacity);
+        buffer = (E[]) new Object[length];
+        mask = length - 1;
+        head = new Sequence();
+        tail = new Sequence();
+    }
+
+    /**
+     * Adds an object to the queue if there is room. Producer thread only.
+     *
+     * @param obj the object to be added to the queue, which must not be null.
+     * @return true if the object was added, false if the queue was full
+     */
+    public boolean offer(final E obj)
+    {
+        if (obj == null)
+        {
+            throw new NullPointerException("Queue does not accept null");
+        }
+        final long currentTail = tail.get();
+        if (currentTail - tail.cached == buffer.length)
+        {
+            tail.cached = head.get();
+            if (currentTail - tail.cached == buffer.length)
+            {
+                return false;
+            }
+        }
+        buffer[(int) currentTail & mask] = obj;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Adds up to max objects taken from the supplier, stopping early if the
+     * queue fills up. The tail is published once for the whole batch.
+     * Producer thread only.
+     *
+     * @param supplier the source of objects, which must not return null.
+     * @param max the most objects to add, not negative.
+     * @return the number of objects added
+     */
+    public int fill(final Supplier<? extends E> supplier, final int max)
+    {
+        if (max < 0)
+        {
+            throw new IllegalArgumentException("max must not be negative");
+        }
+        final long currentTail = tail.get();
+        long room = buffer.length - (currentTail - tail.cached);
+        if (room < max)
+        {
+            tail.cached = head.get();
+            room = buffer.length - (currentTail - tail.cached);
+        }
+        final int count = (int) Math.min(room, max);
+        for (int i = 0; i < count; i++)
+        {
+            final E obj = supplier.get();
+            if (obj == null)
+            {
+                tail.lazySet(currentTail + i);
+                throw new NullPointerException("Queue does not accept null");
+            }
+            buffer[(int) (currentTail + i) & mask] = obj;
+        }
+        tail.lazySet(currentTail + count);
+        return count;
+    }
+
+    /**
+     * Removes the oldest item in the queue. Consumer thread only.
+     *
+     * @return the object removed, or null if the queue is empty.
+     */
+    public E dequeue()
+    {
+        final long currentHead = head.get();
+        if (currentHead == head.cached)
+        {
+            head.cached = tail.get();
+            if (currentHead == head.cached)
+            {
+                return null;
+            }
+        }
+        final int index = (int) currentHead & mask;
+        final E tmp = buffer[index];
+        buffer[index] = null;
+        head.lazySet(currentHead + 1);
+        return tmp;
+    }
+
+    /**
+     * Removes up to max objects and hands each one to the consumer, oldest
+     * first. The head is published once for the whole batch. Consumer thread
+     * only.
+     *
+     * @param consumer receives each object removed.
+     * @param max the most objects to remove, not negative.
+     * @return the number of objects removed
+     */
+    public int drain(final Consumer<? super E> consumer, final int max)
+    {
+        if (max < 0)
+        {
+            throw new IllegalArgumentException("max must not be negative");
+        }
+        final long currentHead = head.get();
+        long available = head.cached - currentHead;
+        if (available < max)
+        {
+            head.cached = tail.get();
+            available = head.cached - currentHead;
+        }
+        final int count = (int) Math.min(available, max);
+        for (int i = 0; i < count; i++)
+        {
+            final int index = (int) (currentHead + i) & mask;
+            final E tmp = buffer[index];
+            buffer[index] = null;
+            consumer.accept(tmp);
+        }
+        head.lazySet(currentHead + count);
+        return count;
+    }
+
+    /**
+     * Returns what is next to be dequeued. Consumer thread only.
+     *
+     * @return oldest object in the queue, or null if the queue is empty.
+     */
+    public E peek()
+    {
+        final long currentHead = head.get();
+        if (currentHead == head.cached)
+        {
+            head.cached = tail.get();
+            if (currentHead == head.cached)
+            {
+                return null;
+            }
+        }
+        return buffer[(int) currentHead & mask];
+    }
+
+    /**
+     * Returns the current size of the queue. From any thread other than the
+     * producer or consumer this is only an estimate.
+     *
+     * @return size of the queue.
+     */
+    public int size()
+    {
+        final long currentHead = head.get();
+        return (int) (tail.get() - currentHead);
+    }
+
+    /**
+     * Returns true if the queue is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Test whether the queue is full.
+     *
+     * @return true if the queue is full, otherwise false
+     */
+    public boolean isFull()
+    {
+        return size() == buffer.length;
+    }
+
+    /**
+     * Returns the most objects the queue will hold.
+     *
+     * @return capacity of the queue.
+     */
+    public int capacity()
+    {
+        return buffer.length;
+    }
+
+}
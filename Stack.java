@@ -1,6 +1,8 @@
 package data_structures;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.function.ToLongFunction;
 
 /**
  * Implementation of a stack using generic arguments, and a linked list
@@ -10,7 +12,7 @@ import java.util.Iterator;
  * @param <E> the type of elements in this Stack
  */
 
-public class Stack<E>
+public class Stack<E> implements MemoryFootprint
 {
     private ListI<E> list;
 
@@ -19,6 +21,18 @@ public class Stack<E>
         list = new LinkedList<E>();
     }
 
+    /**
+     * Creates a stack on top of the given list, which should be empty. This
+     * allows an array backed list such as {@link ArrayDeque} to be used in
+     * place of the default {@link LinkedList}.
+     *
+     * @param list the list used to store the stack.
+     */
+    public Stack(final ListI<E> list)
+    {
+        this.list = list;
+    }
+
     /**
      * Adds an object to the stack.
      *
@@ -39,6 +53,67 @@ public class Stack<E>
         return list.removeFirst();
     }
 
+    /**
+     * Pushes every object from the source onto the stack, in the order the
+     * source returns them, so the last one ends up on top.
+     *
+     * @param source the objects to be added to the stack.
+     */
+    public void addAll(final Iterable<? extends E> source)
+    {
+        for (E obj : source)
+        {
+            list.addFirst(obj);
+        }
+    }
+
+    /**
+     * Pops up to max objects from the stack and adds them to the collection
+     * in the order they are popped.
+     *
+     * @param target the collection to add the removed objects to.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    public int drainTo(final Collection<? super E> target, final int max)
+    {
+        return list.drainTo(target, max);
+    }
+
+    /**
+     * Pushes a run of objects from an array onto the stack, in array order,
+     * so the last one ends up on top.
+     *
+     * @param source the array holding the objects to be added.
+     * @param offset the index of the first object to add.
+     * @param length the number of objects to add.
+     */
+    public void addAllLast(final E[] source, final int offset, final int length)
+    {
+        if (offset < 0 || length < 0 || offset + length > source.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        for (int i = offset; i < offset + length; i++)
+        {
+            list.addFirst(source[i]);
+        }
+    }
+
+    /**
+     * Pops up to max objects from the stack and stores them in the array
+     * starting at offset, in the order they are popped.
+     *
+     * @param target the array to store the removed objects in.
+     * @param offset the index to store the first object at.
+     * @param max the most objects to remove.
+     * @return the number of objects removed.
+     */
+    public int drainTo(final E[] target, final int offset, final int max)
+    {
+        return list.drainTo(target, offset, max);
+    }
+
     /**
      * Returns the number of Objects currently in the stack.
      *
@@ -65,7 +140,7 @@ public class Stack<E>
      */
     public boolean isFull()
     {
-        return false;
+        return list.isFull();
     }
 
     /**
@@ -79,8 +154,9 @@ public class Stack<E>
     }
 
     /**
-     * Test whether the stack contains an object. This will use the object's
-     * compareTo method to determine whether two objects are the same.
+     * Test whether the stack contains an object, using the backing list's
+     * test of whether two objects are the same: compareTo for most lists,
+     * equals for the default {@link LinkedList}.
      *
      * @param obj The object to look for in the stack
      * @return true if the object is found in the stack, false if it is not
@@ -100,6 +176,40 @@ public class Stack<E>
         list.makeEmpty();
     }
 
+    /**
+     * Estimates the shallow footprint of the stack: the stack object and the list
+     * it is stored in, if the list can estimate its own footprint.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        long total = ObjectLayout.objectSize(1, 0, 0, 0);
+        if (list instanceof MemoryFootprint)
+        {
+            total += ((MemoryFootprint) list).estimateBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the deep footprint of the stack: the shallow footprint plus
+     * the size of every element as reported by payloadSize.
+     *
+     * @param payloadSize returns the size in bytes of one element.
+     * @return the estimated size in bytes
+     */
+    public long estimateBytes(final ToLongFunction<? super E> payloadSize)
+    {
+        long total = estimateBytes();
+        for (E obj : list)
+        {
+            total += payloadSize.applyAsLong(obj);
+        }
+        return total;
+    }
+
     /**
      * Returns an Iterator of the values in the stack, presented in
      * the same order as the stack.
@@ -0,0 +1,298 @@
+package data_structures;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Operation counts, sampled latencies, peak size and traversal depths for
+ * one instrumented data structure.
+ *
+ * Every operation is counted, but only one in every sampleInterval calls of
+ * each operation is timed, which keeps the cost of leaving instrumentation
+ * on to a counter increment for most calls. Recording never allocates.
+ *
+ * A snapshot of the metrics is available as a map of names to values, and
+ * the same values can be published as the attributes of a JMX MBean.
+ *
+ * @author Connor Guy
+ */
+
+public class StructureMetrics implements DynamicMBean
+{
+    /** Returned by begin when the call is not being timed. */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final int DEFAULT_SAMPLE_INTERVAL = 64;
+
+    private final String[] operations;
+    private final AtomicLongArray counts;
+    private final Histogram[] latencies;
+    private final Histogram depths;
+    private final AtomicLong peakSize;
+    private final int sampleMask;
+
+    /**
+     * Creates metrics for the named operations, timing one call in 64.
+     *
+     * @param operations the names of the operations, indexed by the number
+     *        passed to begin.
+     */
+    public StructureMetrics(final String... operations)
+    {
+        this(DEFAULT_SAMPLE_INTERVAL, operations);
+    }
+
+    /**
+     * Creates metrics for the named operations.
+     *
+     * @param sampleInterval time one call in this many, rounded up to a
+     *        power of two; 1 times every call.
+     * @param operations the names of the operations, indexed by the number
+     *        passed to begin.
+     */
+    public StructureMetrics(final int sampleInterval, final String... operations)
+    {
+        if (sampleInterval < 1 || sampleInterval > (1 << 30))
+        {
+            throw new IllegalArgumentException("Sample interval out of range");
+        }
+        this.operations = operations.clone();
+        counts = new AtomicLongArray(operations.length);
+        latencies = new Histogram[operations.length];
+        for (int i = 0; i < operations.length; i++)
+        {
+            latencies[i] = new Histogram();
+        }
+        depths = new Histogram();
+        peakSize = new AtomicLong(0);
+        sampleMask = RingBuffers.capacityFor(sampleInterval) - 1;
+    }
+
+    /**
+     * Counts a call of an operation and, if this call is sampled, returns
+     * the time it started.
+     *
+     * @param operation the index of the operation
+     * @return the start time in nanoseconds, or NOT_SAMPLED
+     */
+    public long begin(final int operation)
+    {
+        if ((counts.getAndIncrement(operation) & sampleMask) != 0)
+        {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the latency of a sampled call.
+     *
+     * @param operation the index of the operation
+     * @param start the value returned by begin
+     */
+    public void end(final int operation, final long start)
+    {
+        if (start != NOT_SAMPLED)
+        {
+            latencies[operation].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the current size of the structure, keeping the largest seen.
+     *
+     * @param size the current size
+     */
+    public void size(final long size)
+    {
+        long peak = peakSize.get();
+        while (size > peak && !peakSize.compareAndSet(peak, size))
+        {
+            peak = peakSize.get();
+        }
+    }
+
+    /**
+     * Records how many nodes a tree operation visited.
+     *
+     * @param depth the number of nodes visited
+     */
+    public void depth(final int depth)
+    {
+        depths.record(depth);
+    }
+
+    /**
+     * Returns the number of calls of an operation.
+     *
+     * @param operation the index of the operation
+     * @return the call count
+     */
+    public long count(final int operation)
+    {
+        return counts.get(operation);
+    }
+
+    /**
+     * Returns the sampled latencies of an operation.
+     *
+     * @param operation the index of the operation
+     * @return the latency histogram, in nanoseconds
+     */
+    public Histogram latency(final int operation)
+    {
+        return latencies[operation];
+    }
+
+    /**
+     * Returns the recorded traversal depths.
+     *
+     * @return the depth histogram
+     */
+    public Histogram depths()
+    {
+        return depths;
+    }
+
+    /**
+     * Returns the largest size recorded.
+     *
+     * @return the peak size
+     */
+    public long peakSize()
+    {
+        return peakSize.get();
+    }
+
+    /**
+     * Returns the current values under names such as "add.count",
+     * "add.p50Nanos", "add.p99Nanos", "add.maxNanos", "peakSize",
+     * "depth.p50" and "depth.max".
+     *
+     * @return a new map of metric names to values, in a fixed order
+     */
+    public Map<String, Long> snapshot()
+    {
+        final Map<String, Long> values = new LinkedHashMap<String, Long>();
+        for (int i = 0; i < operations.length; i++)
+        {
+            values.put(operations[i] + ".count", counts.get(i));
+            values.put(operations[i] + ".p50Nanos", latencies[i].percentile(50));
+            values.put(operations[i] + ".p99Nanos", latencies[i].percentile(99));
+            values.put(operations[i] + ".maxNanos", latencies[i].max());
+        }
+        values.put("peakSize", peakSize.get());
+        values.put("depth.p50", depths.percentile(50));
+        values.put("depth.max", depths.max());
+        return values;
+    }
+
+    /**
+     * Clears every count, histogram and the peak size.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < operations.length; i++)
+        {
+            counts.set(i, 0);
+            latencies[i].reset();
+        }
+        depths.reset();
+        peakSize.set(0);
+    }
+
+    /**
+     * Publishes these metrics on the platform MBean server.
+     *
+     * @param name the object name, for example
+     *        "data_structures:type=Queue,name=jobs"
+     * @return the registered name
+     * @throws JMException if the name is invalid or already registered
+     */
+    public ObjectName register(final String name) throws JMException
+    {
+        final ObjectName objectName = new ObjectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException
+    {
+        final Long value = snapshot().get(attribute);
+        if (value == null)
+        {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes)
+    {
+        final Map<String, Long> values = snapshot();
+        final AttributeList list = new AttributeList();
+        for (String attribute : attributes)
+        {
+            if (values.containsKey(attribute))
+            {
+                list.add(new Attribute(attribute, values.get(attribute)));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) throws AttributeNotFoundException
+    {
+        throw new AttributeNotFoundException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes)
+    {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+            throws ReflectionException
+    {
+        if ("reset".equals(actionName))
+        {
+            reset();
+            return null;
+        }
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo()
+    {
+        final Map<String, Long> values = snapshot();
+        final MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int i = 0;
+        for (String name : values.keySet())
+        {
+            attributes[i++] = new MBeanAttributeInfo(name, "java.lang.Long", name, true, false, false);
+        }
+        final MBeanOperationInfo[] actions = {
+            new MBeanOperationInfo("reset", "Clears all metrics", null, "void", MBeanOperationInfo.ACTION)
+        };
+        return new MBeanInfo(getClass().getName(), "Data structure metrics", attributes, null, actions, null);
+    }
+}
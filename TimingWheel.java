@@ -0,0 +1,420 @@
+package data_structures;
+
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A delay queue built as a hierarchical hashed timing wheel. Time is counted
+ * in ticks, and the caller moves the wheel forward with {@link #tick} or
+ * {@link #advance}, receiving every object whose delay has run out. schedule
+ * and cancel take constant time however many timers are pending, and a tick
+ * only looks at the timers that are due, instead of scanning them all.
+ *
+ * The wheel has several levels of 2^slotBits buckets each. A bucket on the
+ * bottom level holds the timers due on one tick, and a bucket on each level
+ * above spans a whole turn of the level below. When a level wraps around,
+ * the next bucket of the level above is emptied into the levels below it, so
+ * every timer is moved at most once per level. Timers beyond the reach of
+ * the top level wait in a RedBlackTree keyed by the turn of the top level
+ * they fall in, and are moved into the wheel when that turn begins.
+ *
+ * Each bucket is a Queue backed by an ArrayDeque, so emptying one takes
+ * constant time per timer. Cancelling only marks the timer, which is skipped
+ * and dropped when its bucket is next emptied. So that services which cancel
+ * most of their timers do not fill the wheel with dead ones, every bucket is
+ * swept once the cancelled timers outnumber both the pending ones and the
+ * buckets, which keeps cancel constant time when amortized.
+ *
+ * @author Connor Guy
+ * @param <E> the type of objects being scheduled
+ */
+
+public class TimingWheel<E>
+{
+    /**
+     * A scheduled object, used to cancel it.
+     *
+     * @param <E> the type of objects being scheduled
+     */
+    public static final class Timeout<E>
+    {
+        private static final int PENDING = 0, EXPIRED = 1, CANCELLED = 2;
+
+        private final TimingWheel<E> owner;
+        private final E data;
+        private final long deadline;
+        private int state;
+
+        private Timeout(final TimingWheel<E> owner, final E data, final long deadline)
+        {
+            this.owner = owner;
+            this.data = data;
+            this.deadline = deadline;
+            state = PENDING;
+        }
+
+        /**
+         * Returns the object this timeout refers to.
+         *
+         * @return the scheduled object
+         */
+        public E get()
+        {
+            return data;
+        }
+
+        /**
+         * Returns the tick the timeout expires on.
+         *
+         * @return the deadline, in ticks
+         */
+        public long deadline()
+        {
+            return deadline;
+        }
+
+        /**
+         * Test whether the timeout is still waiting to expire.
+         *
+         * @return true if it has neither expired nor been cancelled
+         */
+        public boolean isPending()
+        {
+            return state == PENDING;
+        }
+
+        /**
+         * Test whether the timeout was cancelled before it expired.
+         *
+         * @return true if it was cancelled
+         */
+        public boolean isCancelled()
+        {
+            return state == CANCELLED;
+        }
+    }
+
+    private static final int DEFAULT_SLOT_BITS = 8;
+    private static final int DEFAULT_LEVELS = 4;
+    private static final int BUCKET_CAPACITY = 4;
+
+    private final int slotBits, levels, mask;
+    private final Queue<Timeout<E>>[][] wheel;
+    private RedBlackTree<Long, Queue<Timeout<E>>> overflow;
+    private int staleTurns;
+    private long now;
+    private int pending, cancelled;
+
+    /**
+     * Creates a wheel of four levels of 256 buckets, which holds timers up
+     * to 2^32 ticks ahead before using the overflow tree.
+     */
+    public TimingWheel()
+    {
+        this(DEFAULT_SLOT_BITS, DEFAULT_LEVELS);
+    }
+
+    /**
+     * Creates a wheel with the given shape.
+     *
+     * @param slotBits the log2 of the number of buckets on each level
+     * @param levels the number of levels
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimingWheel(final int slotBits, final int levels)
+    {
+        if (slotBits < 1 || levels < 1 || slotBits * levels > 62 || slotBits > 16)
+        {
+            throw new IllegalArgumentException("Unsupported wheel shape");
+        }
+        this.slotBits = slotBits;
+        this.levels = levels;
+        mask = (1 << slotBits) - 1;
+        wheel = (Queue<Timeout<E>>[][]) new Queue[levels][1 << slotBits];
+        for (int level = 0; level < levels; level++)
+        {
+            for (int slot = 0; slot <= mask; slot++)
+            {
+                wheel[level][slot] = new Queue<Timeout<E>>(new ArrayDeque<Timeout<E>>(BUCKET_CAPACITY));
+            }
+        }
+        overflow = new RedBlackTree<Long, Queue<Timeout<E>>>();
+        staleTurns = 0;
+        now = 0;
+        pending = cancelled = 0;
+    }
+
+    /**
+     * Schedules an object to expire after the given number of ticks.
+     *
+     * @param obj the object to schedule
+     * @param delay the number of ticks from now; zero is rounded up to the
+     *        next tick
+     * @return the timeout, which can be passed to cancel
+     */
+    public Timeout<E> schedule(final E obj, final long delay)
+    {
+        if (delay < 0)
+        {
+            throw new IllegalArgumentException("Delay must not be negative");
+        }
+        final long deadline = delay > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + Math.max(delay, 1);
+        final Timeout<E> timeout = new Timeout<E>(this, obj, deadline);
+        place(timeout);
+        pending++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout so that it never expires.
+     *
+     * @param timeout the timeout returned by schedule
+     * @return true if it was pending, false if it had already expired or
+     *         been cancelled
+     */
+    public boolean cancel(final Timeout<E> timeout)
+    {
+        if (timeout.owner != this)
+        {
+            throw new NoSuchElementException("Timeout is not in this wheel");
+        }
+        if (timeout.state != Timeout.PENDING)
+        {
+            return false;
+        }
+        timeout.state = Timeout.CANCELLED;
+        pending--;
+        if (++cancelled > Math.max(pending, levels << slotBits))
+        {
+            purge();
+        }
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward one tick.
+     *
+     * @param expired receives every object that expires on the new tick
+     * @return the number of objects that expired
+     */
+    public int tick(final Consumer<? super E> expired)
+    {
+        now++;
+        for (int level = levels; level >= 1; level--)
+        {
+            if ((now & ((1L << (slotBits * level)) - 1)) == 0)
+            {
+                if (level == levels)
+                {
+                    cascadeOverflow(now >>> (slotBits * levels));
+                }
+                else
+                {
+                    cascade(wheel[level][(int) (now >>> (slotBits * level)) & mask]);
+                }
+            }
+        }
+
+        final Queue<Timeout<E>> bucket = wheel[0][(int) now & mask];
+        int count = 0;
+        while (!bucket.isEmpty())
+        {
+            final Timeout<E> timeout = bucket.dequeue();
+            if (timeout.state == Timeout.PENDING)
+            {
+                timeout.state = Timeout.EXPIRED;
+                pending--;
+                count++;
+                expired.accept(timeout.data);
+            }
+            else
+            {
+                cancelled--;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Moves the wheel forward by a number of ticks, one tick at a time.
+     *
+     * @param ticks the number of ticks to move
+     * @param expired receives every object that expires, in deadline order
+     * @return the number of objects that expired
+     */
+    public int advance(final long ticks, final Consumer<? super E> expired)
+    {
+        if (ticks < 0)
+        {
+            throw new IllegalArgumentException("Ticks must not be negative");
+        }
+        int count = 0;
+        for (long i = 0; i < ticks; i++)
+        {
+            count += tick(expired);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the current tick.
+     *
+     * @return the number of ticks the wheel has moved since it was created
+     */
+    public long now()
+    {
+        return now;
+    }
+
+    /**
+     * Returns the number of timeouts that are still pending.
+     *
+     * @return the number of pending timeouts
+     */
+    public int size()
+    {
+        return pending;
+    }
+
+    /**
+     * Test whether any timeouts are pending.
+     *
+     * @return true if no timeouts are pending
+     */
+    public boolean isEmpty()
+    {
+        return pending == 0;
+    }
+
+    /**
+     * Returns the number of cancelled timeouts still held in the buckets.
+     *
+     * @return the number of cancelled timeouts not yet dropped
+     */
+    int cancelledHeld()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Puts a timeout in the lowest level whose current turn contains its
+     * deadline, or in the overflow tree if no level reaches that far.
+     */
+    private void place(final Timeout<E> timeout)
+    {
+        final long deadline = timeout.deadline;
+        for (int level = 0; level < levels; level++)
+        {
+            final int shift = slotBits * (level + 1);
+            if ((deadline >>> shift) == (now >>> shift))
+            {
+                wheel[level][(int) (deadline >>> (slotBits * level)) & mask].enqueue(timeout);
+                return;
+            }
+        }
+
+        final Long turn = deadline >>> (slotBits * levels);
+        Queue<Timeout<E>> bucket = overflow.getValue(turn);
+        if (bucket == null)
+        {
+            bucket = new Queue<Timeout<E>>(new ArrayDeque<Timeout<E>>(BUCKET_CAPACITY));
+            overflow.add(turn, bucket);
+        }
+        bucket.enqueue(timeout);
+    }
+
+    /**
+     * Empties a bucket into the levels below it, dropping cancelled
+     * timeouts.
+     */
+    private void cascade(final Queue<Timeout<E>> bucket)
+    {
+        while (!bucket.isEmpty())
+        {
+            final Timeout<E> timeout = bucket.dequeue();
+            if (timeout.state == Timeout.PENDING)
+            {
+                place(timeout);
+            }
+            else
+            {
+                cancelled--;
+            }
+        }
+    }
+
+    /**
+     * Drops every cancelled timeout from every bucket and from the overflow
+     * tree.
+     */
+    private void purge()
+    {
+        for (int level = 0; level < levels; level++)
+        {
+            for (int slot = 0; slot <= mask; slot++)
+            {
+                sweep(wheel[level][slot]);
+            }
+        }
+        for (Long key : overflow)
+        {
+            sweep(overflow.getValue(key));
+        }
+        rebuildOverflow();
+        cancelled = 0;
+    }
+
+    /**
+     * Removes the cancelled timeouts from a bucket, keeping the rest in
+     * order.
+     */
+    private static <E> void sweep(final Queue<Timeout<E>> bucket)
+    {
+        for (int i = bucket.size(); i > 0; i--)
+        {
+            final Timeout<E> timeout = bucket.dequeue();
+            if (timeout.state == Timeout.PENDING)
+            {
+                bucket.enqueue(timeout);
+            }
+        }
+    }
+
+    /**
+     * Moves the timeouts for a new turn of the top level out of the overflow
+     * tree. The tree cannot remove entries, so it is rebuilt without the
+     * emptied turns once they make up half of it.
+     */
+    private void cascadeOverflow(final long turn)
+    {
+        final Queue<Timeout<E>> bucket = overflow.getValue(turn);
+        if (bucket == null)
+        {
+            return;
+        }
+        cascade(bucket);
+        if (++staleTurns * 2 > overflow.size())
+        {
+            rebuildOverflow();
+        }
+    }
+
+    /**
+     * Replaces the overflow tree with one holding only the turns that still
+     * have timeouts waiting.
+     */
+    private void rebuildOverflow()
+    {
+        final RedBlackTree<Long, Queue<Timeout<E>>> rebuilt = new RedBlackTree<Long, Queue<Timeout<E>>>();
+        for (Long key : overflow)
+        {
+            final Queue<Timeout<E>> remaining = overflow.getValue(key);
+            if (!remaining.isEmpty())
+            {
+                rebuilt.add(key, remaining);
+            }
+        }
+        overflow = rebuilt;
+        staleTurns = 0;
+    }
+}
@@ -0,0 +1,422 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of an unrolled linked list using generic arguments. Each
+ * node holds a small array of elements instead of a single one, so a list of
+ * n elements only allocates about n / chunkSize nodes, and iteration and
+ * contains walk contiguous arrays rather than chasing a pointer per element.
+ *
+ * Elements in a node occupy the slots from start up to, but not including,
+ * end. Adding at the front fills a node from the back, and adding at the end
+ * fills a node from the front, so both ends stay constant time.
+ *
+ * A node that empties at either end is kept as a spare for that end instead
+ * of being dropped, so adding and removing back and forth across a node
+ * boundary reuses the same node rather than allocating a node and its array
+ * on every step. At most one spare is kept per end.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this list
+ */
+
+public class UnrolledLinkedList<E> implements ListI<E>, MemoryFootprint
+{
+    private static final int DEFAULT_CHUNK_SIZE = 32;
+
+    /** * @param <E> */
+    private static class Node<E>
+    {
+        final E[] items;
+        int start, end;
+        Node<E> previous, next;
+
+        @SuppressWarnings("unchecked")
+        public Node(final int chunkSize, final int position)
+        {
+            items = (E[]) new Object[chunkSize];
+            start = end = position;
+            previous = next = null;
+        }
+    }
+
+    private final int chunkSize;
+    private Node<E> head, tail;
+    private Node<E> spareFirst, spareLast;
+    private int currentSize;
+
+    public UnrolledLinkedList()
+    {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates an empty list whose nodes each hold up to chunkSize elements.
+     *
+     * @param chunkSize the number of elements per node.
+     */
+    public UnrolledLinkedList(final int chunkSize)
+    {
+        if (chunkSize < 1)
+        {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+        head = tail = null;
+        spareFirst = spareLast = null;
+        currentSize = 0;
+    }
+
+    /**
+     * Adds an object to the beginning of the list.
+     *
+     * @param obj the object to be added to the list.
+     */
+    @Override
+    public void addFirst(final E obj)
+    {
+        if (head == null || head.start == 0)
+        {
+            final Node<E> newNode = obtainNode(chunkSize);
+            newNode.next = head;
+            if (head == null)
+            {
+                tail = newNode;
+            }
+            else
+            {
+                head.previous = newNode;
+            }
+            head = newNode;
+        }
+        head.items[--head.start] = obj;
+        currentSize++;
+    }
+
+    /**
+     * Adds an object to the end of the list.
+     *
+     * @param obj the object to be added to the list.
+     */
+    @Override
+    public void addLast(final E obj)
+    {
+        if (tail == null || tail.end == chunkSize)
+        {
+            final Node<E> newNode = obtainNode(0);
+            newNode.previous = tail;
+            if (tail == null)
+            {
+                head = newNode;
+            }
+            else
+            {
+                tail.next = newNode;
+            }
+            tail = newNode;
+        }
+        tail.items[tail.end++] = obj;
+        currentSize++;
+    }
+
+    /**
+     * Removes the first Object in the list and returns it.
+     * Returns null if the list is empty.
+     *
+     * @return the object removed.
+     */
+    @Override
+    public E removeFirst()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final E tmp = head.items[head.start];
+        head.items[head.start++] = null;
+        currentSize--;
+        if (head.start == head.end)
+        {
+            final Node<E> empty = head;
+            unlink(empty);
+            if (spareFirst == null)
+            {
+                spareFirst = empty;
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * Removes the last Object in the list and returns it.
+     * Returns null if the list is empty.
+     *
+     * @return the object removed.
+     */
+    @Override
+    public E removeLast()
+    {
+        if (isEmpty())
+        {
+            return null;
+        }
+        final E tmp = tail.items[--tail.end];
+        tail.items[tail.end] = null;
+        currentSize--;
+        if (tail.start == tail.end)
+        {
+            final Node<E> empty = tail;
+            unlink(empty);
+            if (spareLast == null)
+            {
+                spareLast = empty;
+            }
+        }
+        return tmp;
+    }
+
+    /**
+     * Returns the first Object in the list, but does not remove it.
+     * Returns null if the list is empty.
+     *
+     * @return the object at the beginning of the list.
+     */
+    @Override
+    public E peekFirst()
+    {
+        if (head == null)
+        {
+            return null;
+        }
+        return head.items[head.start];
+    }
+
+    /**
+     * Returns the last Object in the list, but does not remove it.
+     * Returns null if the list is empty.
+     *
+     * @return the object at the end of the list.
+     */
+    @Override
+    public E peekLast()
+    {
+        if (tail == null)
+        {
+            return null;
+        }
+        return tail.items[tail.end - 1];
+    }
+
+    /**
+     * Return the list to an empty state, releasing the spare nodes too.
+     * This should generally be a constant time operation.
+     */
+    @Override
+    public void makeEmpty()
+    {
+        head = tail = null;
+        spareFirst = spareLast = null;
+        currentSize = 0;
+    }
+
+    /**
+     * Test whether the list is empty.
+     *
+     * @return true if the list is empty, otherwise false
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return head == null;
+    }
+
+    /**
+     * Test whether the list is full.
+     *
+     * @return true if the list is full, otherwise false
+     */
+    @Override
+    public boolean isFull()
+    {
+        return false;
+    }
+
+    /**
+     * Returns the number of Objects currently in the list.
+     *
+     * @return the number of Objects currently in the list.
+     */
+    @Override
+    public int size()
+    {
+        return currentSize;
+    }
+
+    /**
+     * Test whether the list contains an object. This will use the object's
+     * compareTo method to determine whether two objects are the same.
+     *
+     * @param obj The object to look for in the list
+     * @return true if the object is found in the list, false if it is not found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(final E obj)
+    {
+        for (Node<E> current = head; current != null; current = current.next)
+        {
+            final E[] items = current.items;
+            for (int i = current.start; i < current.end; i++)
+            {
+                if (((Comparable<E>) obj).compareTo(items[i]) == 0)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an Iterator of the values in the list, presented in
+     * the same order as the list.
+     *
+     * @see java.lang.Iterable#iterator()
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new IteratorHelper();
+    }
+
+    /**
+     * Estimates the shallow footprint of the list: the list itself and each
+     * node with its whole array, including the unused slots and the spare
+     * nodes.
+     *
+     * @return the estimated size in bytes
+     */
+    @Override
+    public long estimateBytes()
+    {
+        final long nodeBytes = ObjectLayout.objectSize(3, 2, 0, 0)
+                + ObjectLayout.referenceArraySize(chunkSize);
+        long total = ObjectLayout.objectSize(4, 2, 0, 0);
+        for (Node<E> current = head; current != null; current = current.next)
+        {
+            total += nodeBytes;
+        }
+        if (spareFirst != null)
+        {
+            total += nodeBytes;
+        }
+        if (spareLast != null)
+        {
+            total += nodeBytes;
+        }
+        return total;
+    }
+
+    /**
+     * Returns an empty node for one end of the list, reusing a spare if
+     * there is one.
+     *
+     * @param position where the node's elements start: chunkSize for a node
+     *        filled from the back, 0 for one filled from the front
+     * @return an unlinked, empty node
+     */
+    private Node<E> obtainNode(final int position)
+    {
+        Node<E> node = position == 0 ? spareLast : spareFirst;
+        if (node == null)
+        {
+            node = position == 0 ? spareFirst : spareLast;
+        }
+        if (node == null)
+        {
+            return new Node<E>(chunkSize, position);
+        }
+        if (node == spareFirst)
+        {
+            spareFirst = null;
+        }
+        else
+        {
+            spareLast = null;
+        }
+        node.start = node.end = position;
+        return node;
+    }
+
+    /**
+     * Removes an empty node from the chain.
+     *
+     * @param node the node to remove
+     */
+    private void unlink(final Node<E> node)
+    {
+        final Node<E> previous = node.previous, next = node.next;
+        node.previous = node.next = null;
+        if (previous == null)
+        {
+            head = next;
+        }
+        else
+        {
+            previous.next = next;
+        }
+        if (next == null)
+        {
+            tail = previous;
+        }
+        else
+        {
+            next.previous = previous;
+        }
+    }
+
+    /**
+     * Moves through the list in the order that it is created in, one node's
+     * array at a time.
+     *
+     * @return next object in the list
+     */
+    private class IteratorHelper implements Iterator<E>
+    {
+        Node<E> node;
+        int index;
+
+        public IteratorHelper()
+        {
+            node = head;
+            index = node == null ? 0 : node.start;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return node != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            final E tmp = node.items[index++];
+            if (index == node.end)
+            {
+                node = node.next;
+                if (node != null)
+                {
+                    index = node.start;
+                }
+            }
+            return tmp;
+        }
+    }
+}
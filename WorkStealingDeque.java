@@ -0,0 +1,174 @@
+package data_structures;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Implementation of a Chase-Lev work-stealing deque using generic arguments
+ * and a growable circular array.
+ *
+ * One owner thread pushes and pops at the bottom end without taking a lock,
+ * and only needs a compare-and-set when it races a thief for the last
+ * element. Any number of other threads may steal from the top end, each
+ * steal claiming its element with a compare-and-set on the top index.
+ *
+ * Slots are not cleared when their element is taken, since a slow thief may
+ * still read them, so a taken object stays reachable until its slot is
+ * reused.
+ *
+ * @author Connor Guy
+ * @param <E> the type of elements in this deque
+ */
+
+public class WorkStealingDeque<E>
+{
+    /** * @param <E> */
+    private static final class Buffer<E>
+    {
+        final AtomicReferenceArray<E> items;
+        final int mask;
+
+        public Buffer(final int capacity)
+        {
+            items = new AtomicReferenceArray<E>(capacity);
+            mask = capacity - 1;
+        }
+
+        E get(final long index)
+        {
+            return items.get((int) index & mask);
+        }
+
+        void put(final long index, final E obj)
+        {
+            items.set((int) index & mask, obj);
+        }
+
+        /**
+         * Copies the live range into a buffer twice the size.
+         */
+        Buffer<E> grow(final long bottom, final long top)
+        {
+            final Buffer<E> larger = new Buffer<E>((mask + 1) << 1);
+            for (long i = top; i < bottom; i++)
+            {
+                larger.put(i, get(i));
+            }
+            return larger;
+        }
+    }
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private volatile long bottom;
+    private final AtomicLong top;
+    private volatile Buffer<E> buffer;
+
+    public WorkStealingDeque()
+    {
+        bottom = 0;
+        top = new AtomicLong(0);
+        buffer = new Buffer<E>(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Adds an object to the bottom of the deque. Owner thread only.
+     *
+     * @param obj the object to be added to the deque, which must not be null.
+     */
+    public void push(final E obj)
+    {
+        if (obj == null)
+        {
+            throw new NullPointerException("Deque does not accept null");
+        }
+        final long b = bottom;
+        final long t = top.get();
+        Buffer<E> a = buffer;
+        if (b - t > a.mask)
+        {
+            a = a.grow(b, t);
+            buffer = a;
+        }
+        a.put(b, obj);
+        bottom = b + 1;
+    }
+
+    /**
+     * Removes the object at the bottom of the deque, the one pushed most
+     * recently. Owner thread only.
+     *
+     * @return the object removed, or null if the deque is empty.
+     */
+    public E pop()
+    {
+        final long b = bottom - 1;
+        final Buffer<E> a = buffer;
+        // The volatile write of bottom before reading top keeps a thief
+        // from taking this element without seeing the claim
+        bottom = b;
+        final long t = top.get();
+        if (t > b)
+        {
+            bottom = b + 1;
+            return null;
+        }
+        E obj = a.get(b);
+        if (t == b)
+        {
+            // Last element, race the thieves for it
+            if (!top.compareAndSet(t, t + 1))
+            {
+                obj = null;
+            }
+            bottom = b + 1;
+        }
+        return obj;
+    }
+
+    /**
+     * Removes the object at the top of the deque, the oldest one. May be
+     * called from any thread.
+     *
+     * @return the object removed, or null if the deque was empty or another
+     *         thread took the object first.
+     */
+    public E steal()
+    {
+        final long t = top.get();
+        final long b = bottom;
+        if (t >= b)
+        {
+            return null;
+        }
+        final E obj = buffer.get(t);
+        if (!top.compareAndSet(t, t + 1))
+        {
+            return null;
+        }
+        return obj;
+    }
+
+    /**
+     * Returns the number of objects in the deque. While other threads are
+     * stealing this is only an estimate.
+     *
+     * @return size of the deque.
+     */
+    public int size()
+    {
+        final long t = top.get();
+        return (int) Math.max(0, bottom - t);
+    }
+
+    /**
+     * Returns true if the deque is empty.
+     *
+     * @return boolean
+     */
+    public boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+}
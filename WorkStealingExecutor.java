@@ -0,0 +1,456 @@
+package data_structures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A small fork/join executor built on {@link WorkStealingDeque}.
+ *
+ * Each worker thread owns a deque. Tasks forked by a worker are pushed onto
+ * its own deque and popped back in last-in first-out order, which keeps
+ * recursive work on the thread that created it. An idle worker steals the
+ * oldest task from a random other worker, which tends to be the largest
+ * remaining piece of work. Tasks submitted from outside the pool go through a
+ * shared {@link ConcurrentQueue}.
+ *
+ * A worker that joins an unfinished task runs other tasks while it waits
+ * instead of blocking. A thread outside the pool that joins a task parks
+ * until the task finishes and unparks it.
+ *
+ * A worker that finds nothing to do spins briefly and then parks until a
+ * task is submitted or forked. Each submit or fork wakes at most one parked
+ * worker, and only pays for a scan of the workers when one is parked.
+ *
+ * Tasks that have not started when the executor shuts down are cancelled
+ * rather than left queued, so nothing joining them waits forever.
+ *
+ * @author Connor Guy
+ */
+
+public class WorkStealingExecutor
+{
+    /**
+     * A piece of work that may fork smaller tasks and join their results.
+     *
+     * @param <V> the type of the result
+     */
+    public abstract static class Task<V>
+    {
+        private static final VarHandle WAITERS;
+
+        static
+        {
+            try
+            {
+                WAITERS = MethodHandles.lookup().findVarHandle(Task.class, "waiters", Waiter.class);
+            }
+            catch (ReflectiveOperationException e)
+            {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile boolean done;
+        private volatile Waiter waiters;
+        private V result;
+        private Throwable failure;
+
+        /**
+         * Performs the work of this task.
+         *
+         * @return the result of the task
+         */
+        protected abstract V compute();
+
+        /**
+         * Schedules this task to run asynchronously. On a worker thread it is
+         * pushed onto that worker's deque.
+         *
+         * @return this task
+         */
+        public final Task<V> fork()
+        {
+            final Thread current = Thread.currentThread();
+            if (!(current instanceof Worker))
+            {
+                throw new IllegalStateException("fork must be called from a pool task");
+            }
+            final Worker worker = (Worker) current;
+            worker.deque.push(this);
+            worker.pool.signalWork();
+            return this;
+        }
+
+        /**
+         * Waits for this task to finish and returns its result. A worker
+         * thread runs other tasks while it waits; any other thread parks.
+         *
+         * @return the result of the task
+         * @throws RuntimeException if the task failed, with the failure as
+         *         its cause; the cause is a CancellationException if the
+         *         executor shut down before the task ran
+         */
+        public final V join()
+        {
+            final Thread current = Thread.currentThread();
+            if (current instanceof Worker)
+            {
+                final Worker worker = (Worker) current;
+                while (!done)
+                {
+                    final Task<?> other = worker.findTask();
+                    if (other != null)
+                    {
+                        other.run();
+                    }
+                    else
+                    {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+            else
+            {
+                awaitDone(current);
+            }
+            if (failure != null)
+            {
+                throw new RuntimeException("Task failed", failure);
+            }
+            return result;
+        }
+
+        /**
+         * Test whether the task has finished.
+         *
+         * @return true if the task has run to completion or failed
+         */
+        public final boolean isDone()
+        {
+            return done;
+        }
+
+        /**
+         * Parks a thread outside the pool until this task is done. The thread
+         * registers itself before checking done, and run sets done before
+         * taking the registrations, so one of the two always sees the other.
+         *
+         * @param current the joining thread
+         */
+        private void awaitDone(final Thread current)
+        {
+            if (done)
+            {
+                return;
+            }
+            final Waiter waiter = new Waiter(current);
+            do
+            {
+                waiter.next = waiters;
+            }
+            while (!WAITERS.compareAndSet(this, waiter.next, waiter));
+            boolean interrupted = false;
+            while (!done)
+            {
+                LockSupport.park(this);
+                interrupted |= Thread.interrupted();
+            }
+            if (interrupted)
+            {
+                current.interrupt();
+            }
+        }
+
+        private void run()
+        {
+            try
+            {
+                result = compute();
+            }
+            catch (Throwable t)
+            {
+                failure = t;
+            }
+            finish();
+        }
+
+        /**
+         * Finishes a task that never ran because the executor shut down.
+         */
+        private void cancel()
+        {
+            failure = new CancellationException("Executor shut down before the task ran");
+            finish();
+        }
+
+        /**
+         * Marks the task done and wakes every thread waiting for it.
+         */
+        private void finish()
+        {
+            // The volatile write publishes result and failure
+            done = true;
+            Waiter waiter = (Waiter) WAITERS.getAndSet(this, null);
+            while (waiter != null)
+            {
+                LockSupport.unpark(waiter.thread);
+                waiter = waiter.next;
+            }
+        }
+    }
+
+    /** A thread outside the pool waiting for a task to finish. */
+    private static final class Waiter
+    {
+        final Thread thread;
+        Waiter next;
+
+        Waiter(final Thread thread)
+        {
+            this.thread = thread;
+        }
+    }
+
+    /** A pool thread and the deque it owns. */
+    private static final class Worker extends Thread
+    {
+        final WorkStealingExecutor pool;
+        final WorkStealingDeque<Task<?>> deque;
+        final AtomicBoolean parked;
+
+        public Worker(final WorkStealingExecutor pool, final int id)
+        {
+            super("work-stealing-worker-" + id);
+            this.pool = pool;
+            deque = new WorkStealingDeque<Task<?>>();
+            parked = new AtomicBoolean(false);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            int idle = 0;
+            while (!pool.shutdown)
+            {
+                final Task<?> task = findTask();
+                if (task != null)
+                {
+                    idle = 0;
+                    task.run();
+                }
+                else if (++idle < 64)
+                {
+                    Thread.onSpinWait();
+                }
+                else
+                {
+                    idle = 0;
+                    awaitWork();
+                }
+            }
+            // Only this worker pushes to its deque, so nothing is added
+            // once it has stopped
+            Task<?> task;
+            while ((task = deque.pop()) != null)
+            {
+                task.cancel();
+            }
+        }
+
+        /**
+         * Parks this worker until signalWork picks it or the pool shuts down.
+         * The worker marks itself parked and counts itself idle before
+         * looking for work one last time; a thread adding work does so before
+         * reading the idle count, so either the worker finds the task or the
+         * other thread sees the worker and wakes it.
+         */
+        private void awaitWork()
+        {
+            parked.set(true);
+            pool.idleWorkers.incrementAndGet();
+            final Task<?> task = findTask();
+            if (task != null)
+            {
+                if (parked.compareAndSet(true, false))
+                {
+                    pool.idleWorkers.decrementAndGet();
+                }
+                task.run();
+                return;
+            }
+            while (parked.get() && !pool.shutdown)
+            {
+                LockSupport.park(pool);
+            }
+        }
+
+        /**
+         * Looks for a task in this worker's deque, then the other workers'
+         * deques, then the submission queue.
+         *
+         * @return a task to run, or null if none was found
+         */
+        Task<?> findTask()
+        {
+            Task<?> task = deque.pop();
+            if (task != null)
+            {
+                return task;
+            }
+            final Worker[] workers = pool.workers;
+            final int start = ThreadLocalRandom.current().nextInt(workers.length);
+            for (int i = 0; i < workers.length; i++)
+            {
+                final Worker victim = workers[(start + i) % workers.length];
+                if (victim != this)
+                {
+                    task = victim.deque.steal();
+                    if (task != null)
+                    {
+                        return task;
+                    }
+                }
+            }
+            return pool.submissions.dequeue();
+        }
+    }
+
+    private final Worker[] workers;
+    private final ConcurrentQueue<Task<?>> submissions;
+    private final AtomicInteger idleWorkers;
+    private volatile boolean shutdown;
+
+    /**
+     * Creates an executor with one worker per available processor.
+     */
+    public WorkStealingExecutor()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor with the given number of workers.
+     *
+     * @param parallelism the number of worker threads.
+     */
+    public WorkStealingExecutor(final int parallelism)
+    {
+        if (parallelism < 1)
+        {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        submissions = new ConcurrentQueue<Task<?>>();
+        idleWorkers = new AtomicInteger(0);
+        shutdown = false;
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++)
+        {
+            workers[i] = new Worker(this, i);
+        }
+        for (Worker worker : workers)
+        {
+            worker.start();
+        }
+    }
+
+    /**
+     * Schedules a task to run on the pool.
+     *
+     * @param task the task to run.
+     * @return the task, which can be joined for its result
+     * @throws IllegalStateException if the executor has been shut down
+     */
+    public <V> Task<V> submit(final Task<V> task)
+    {
+        if (shutdown)
+        {
+            throw new IllegalStateException("Executor is shut down");
+        }
+        submissions.enqueue(task);
+        if (shutdown)
+        {
+            // Shut down while enqueueing, after shutdown drained the queue
+            cancelSubmissions();
+        }
+        else
+        {
+            signalWork();
+        }
+        return task;
+    }
+
+    /**
+     * Wakes one parked worker, if there is one, after a task has been made
+     * available.
+     */
+    private void signalWork()
+    {
+        if (idleWorkers.get() == 0)
+        {
+            return;
+        }
+        for (Worker worker : workers)
+        {
+            if (worker.parked.get() && worker.parked.compareAndSet(true, false))
+            {
+                idleWorkers.decrementAndGet();
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs a task on the pool and waits for its result.
+     *
+     * @param task the task to run.
+     * @return the result of the task
+     */
+    public <V> V invoke(final Task<V> task)
+    {
+        return submit(task).join();
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism of the pool
+     */
+    public int parallelism()
+    {
+        return workers.length;
+    }
+
+    /**
+     * Stops the workers once they finish the task they are running. Tasks
+     * still queued are not run: they are cancelled, and joining one throws.
+     */
+    public void shutdown()
+    {
+        shutdown = true;
+        for (Worker worker : workers)
+        {
+            LockSupport.unpark(worker);
+        }
+        cancelSubmissions();
+    }
+
+    /**
+     * Cancels every task in the submission queue. A worker may still take
+     * one first and run it; each task is removed, and so finished, once.
+     */
+    private void cancelSubmissions()
+    {
+        Task<?> task;
+        while ((task = submissions.dequeue()) != null)
+        {
+            task.cancel();
+        }
+    }
+}
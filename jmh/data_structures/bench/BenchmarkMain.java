@@ -0,0 +1,46 @@
+package data_structures.bench;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result also
+ * reports allocation rates. Accepts the usual JMH command line options,
+ * including -h, -l and -lp, which print instead of running anything.
+ *
+ * @author Connor Guy
+ */
+
+public class BenchmarkMain
+{
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException
+    {
+        final CommandLineOptions options = new CommandLineOptions(args);
+        final Runner runner = new Runner(new OptionsBuilder()
+                .parent(options)
+                .addProfiler(GCProfiler.class)
+                .build());
+        if (options.shouldHelp())
+        {
+            options.showHelp();
+        }
+        else if (options.shouldList())
+        {
+            runner.list();
+        }
+        else if (options.shouldListWithParams())
+        {
+            runner.listWithParams(options);
+        }
+        else
+        {
+            runner.run();
+        }
+    }
+}
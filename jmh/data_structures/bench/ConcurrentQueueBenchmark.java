@@ -0,0 +1,76 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.ArrayDeque;
+import data_structures.ConcurrentQueue;
+import data_structures.Queue;
+
+/**
+ * Throughput of a ConcurrentQueue shared by every benchmark thread, against a
+ * Queue guarded by synchronized. Each operation is an enqueue followed by a
+ * dequeue, so every thread is both a producer and a consumer and the queue
+ * stays at its starting size. Scale the thread count from 1 to 64 with -t,
+ * for example: java -jar target/benchmarks.jar ConcurrentQueue -t 64
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentQueueBenchmark
+{
+    @Param({ "1000" })
+    int size;
+
+    private ConcurrentQueue<Integer> concurrentQueue;
+    private Queue<Integer> lockedQueue;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        concurrentQueue = new ConcurrentQueue<Integer>();
+        lockedQueue = new Queue<Integer>(new ArrayDeque<Integer>());
+        for (int i = 0; i < size; i++)
+        {
+            concurrentQueue.enqueue(i);
+            lockedQueue.enqueue(i);
+        }
+    }
+
+    @Benchmark
+    public Integer concurrentQueue()
+    {
+        concurrentQueue.enqueue(size);
+        return concurrentQueue.dequeue();
+    }
+
+    @Benchmark
+    public Integer lockedQueue()
+    {
+        synchronized (lockedQueue)
+        {
+            lockedQueue.enqueue(size);
+            return lockedQueue.dequeue();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package data_structures.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.ConcurrentSkipList;
+import data_structures.RedBlackI;
+import data_structures.RedBlackTree;
+
+/**
+ * A ConcurrentSkipList against a RedBlackTree guarded by a single lock, both
+ * shared by several threads running a mix of lookups and adds. Half of the
+ * key pool is added up front; each operation picks a random key from the
+ * pool and adds it with probability writePercent, otherwise looks it up.
+ * RedBlackTree stores duplicate keys, so the tree is checked before each add
+ * to give it the skip list's add-if-absent behaviour and keep its size
+ * bounded by the key pool. Run with -t to change the number of threads.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentSkipListBenchmark
+{
+    @Param({ "100000" })
+    int size;
+
+    @Param({ "RANDOM", "SEQUENTIAL" })
+    KeyDistribution distribution;
+
+    @Param({ "10", "50" })
+    int writePercent;
+
+    private ConcurrentSkipList<Integer, Integer> skipList;
+    private RedBlackTree<Integer, Integer> tree;
+    private Integer[] keys;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        keys = distribution.keys(size, 42);
+        skipList = new ConcurrentSkipList<Integer, Integer>();
+        tree = new RedBlackTree<Integer, Integer>();
+        for (int i = 0; i < keys.length; i += 2)
+        {
+            skipList.add(keys[i], keys[i]);
+            if (!tree.contains(keys[i]))
+            {
+                tree.add(keys[i], keys[i]);
+            }
+        }
+    }
+
+    private static boolean operate(final RedBlackI<Integer, Integer> map, final Integer[] keys,
+            final int writePercent, final boolean checkBeforeAdd)
+    {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Integer key = keys[random.nextInt(keys.length)];
+        if (random.nextInt(100) < writePercent)
+        {
+            if (checkBeforeAdd && map.contains(key))
+            {
+                return false;
+            }
+            map.add(key, key);
+            return true;
+        }
+        return map.contains(key);
+    }
+
+    @Benchmark
+    public boolean skipList()
+    {
+        return operate(skipList, keys, writePercent, false);
+    }
+
+    @Benchmark
+    public boolean lockedTree()
+    {
+        synchronized (tree)
+        {
+            return operate(tree, keys, writePercent, true);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.ConcurrentStack;
+import data_structures.Stack;
+
+/**
+ * Throughput of a ConcurrentStack shared by every benchmark thread, against a
+ * Stack guarded by synchronized. Each operation is a push followed by a pop,
+ * so the stack stays at its starting size. Pushes and pops from different
+ * threads collide on the top pointer, which is where the elimination array
+ * helps. Scale the thread count with -t, for example
+ * java -jar target/benchmarks.jar ConcurrentStack -t 16
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentStackBenchmark
+{
+    @Param({ "1000" })
+    int size;
+
+    private ConcurrentStack<Integer> concurrentStack;
+    private Stack<Integer> lockedStack;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        concurrentStack = new ConcurrentStack<Integer>();
+        lockedStack = new Stack<Integer>();
+        for (int i = 0; i < size; i++)
+        {
+            concurrentStack.push(i);
+            lockedStack.push(i);
+        }
+    }
+
+    @Benchmark
+    public Integer concurrentStack()
+    {
+        concurrentStack.push(size);
+        return concurrentStack.pop();
+    }
+
+    @Benchmark
+    public Integer lockedStack()
+    {
+        synchronized (lockedStack)
+        {
+            lockedStack.push(size);
+            return lockedStack.pop();
+        }
+    }
+}
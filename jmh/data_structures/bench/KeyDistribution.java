@@ -0,0 +1,51 @@
+package data_structures.bench;
+
+import java.util.Random;
+
+/**
+ * The orders in which benchmarks feed keys to a structure.
+ *
+ * @author Connor Guy
+ */
+
+public enum KeyDistribution
+{
+    /** Uniformly random keys over the whole int range. */
+    RANDOM,
+
+    /** Keys 0, 1, 2, ... in order, the worst case for an unbalanced tree. */
+    SEQUENTIAL,
+
+    /** Random keys heavily biased towards a small range, with many repeats. */
+    SKEWED;
+
+    /**
+     * Generates keys in this distribution.
+     *
+     * @param count the number of keys
+     * @param seed the random seed, so runs are repeatable
+     * @return the keys
+     */
+    public Integer[] keys(final int count, final long seed)
+    {
+        final Random random = new Random(seed);
+        final Integer[] keys = new Integer[count];
+        for (int i = 0; i < count; i++)
+        {
+            switch (this)
+            {
+                case SEQUENTIAL:
+                    keys[i] = i;
+                    break;
+                case SKEWED:
+                    final double u = random.nextDouble();
+                    keys[i] = (int) (count * u * u * u);
+                    break;
+                default:
+                    keys[i] = random.nextInt();
+                    break;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,96 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.LinkedList;
+
+/**
+ * Adds and removes at both ends of a LinkedList holding a steady number of
+ * elements, with and without node pooling. Where the keys come from does
+ * not matter to adds and removes, so they are always random.
+ *
+ * gc.alloc.rate.norm is the allocation-rate measurement for pooling: the
+ * unpooled list allocates a node (24 bytes with compressed oops) per add,
+ * while with poolSize 1024 the steady state allocates close to zero bytes
+ * per operation.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark
+{
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Param({ "0", "1024" })
+    int poolSize;
+
+    private LinkedList<Integer> list;
+    private Integer[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        keys = KeyDistribution.RANDOM.keys(size, 42);
+        list = new LinkedList<Integer>(poolSize);
+        for (Integer key : keys)
+        {
+            list.addLast(key);
+        }
+        next = 0;
+    }
+
+    private Integer nextKey()
+    {
+        final Integer key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        return key;
+    }
+
+    @Benchmark
+    public Integer addFirstRemoveFirst()
+    {
+        list.addFirst(nextKey());
+        return list.removeFirst();
+    }
+
+    @Benchmark
+    public Integer addLastRemoveFirst()
+    {
+        list.addLast(nextKey());
+        return list.removeFirst();
+    }
+
+    @Benchmark
+    public Integer addFirstRemoveLast()
+    {
+        list.addFirst(nextKey());
+        return list.removeLast();
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return list.contains(nextKey());
+    }
+}
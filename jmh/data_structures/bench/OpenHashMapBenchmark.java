@@ -0,0 +1,126 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.OpenHashMap;
+import data_structures.RedBlackTree;
+
+/**
+ * OpenHashMap against RedBlackTree for unordered use: building each from the
+ * same keys, then looking keys up. Builds are measured per call over all
+ * keys; contains and getValue per lookup. OpenHashMap ignores a key it
+ * already holds but RedBlackTree stores it again, so the tree build checks
+ * contains before each add; otherwise SKEWED keys would leave the tree far
+ * larger than the map.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OpenHashMapBenchmark
+{
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Param({ "RANDOM", "SEQUENTIAL", "SKEWED" })
+    KeyDistribution distribution;
+
+    private OpenHashMap<Integer, Integer> map;
+    private RedBlackTree<Integer, Integer> tree;
+    private Integer[] keys, probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        keys = distribution.keys(size, 42);
+        probes = distribution.keys(size, 7);
+        map = buildMap();
+        tree = buildTree();
+        next = 0;
+    }
+
+    private OpenHashMap<Integer, Integer> buildMap()
+    {
+        final OpenHashMap<Integer, Integer> newMap = new OpenHashMap<Integer, Integer>();
+        for (Integer key : keys)
+        {
+            newMap.add(key, key);
+        }
+        return newMap;
+    }
+
+    private RedBlackTree<Integer, Integer> buildTree()
+    {
+        final RedBlackTree<Integer, Integer> newTree = new RedBlackTree<Integer, Integer>();
+        for (Integer key : keys)
+        {
+            if (!newTree.contains(key))
+            {
+                newTree.add(key, key);
+            }
+        }
+        return newTree;
+    }
+
+    private Integer nextProbe()
+    {
+        final Integer key = probes[next];
+        next = next + 1 == probes.length ? 0 : next + 1;
+        return key;
+    }
+
+    @Benchmark
+    public OpenHashMap<Integer, Integer> mapAdd()
+    {
+        return buildMap();
+    }
+
+    @Benchmark
+    public RedBlackTree<Integer, Integer> treeAdd()
+    {
+        return buildTree();
+    }
+
+    @Benchmark
+    public boolean mapContains()
+    {
+        return map.contains(nextProbe());
+    }
+
+    @Benchmark
+    public boolean treeContains()
+    {
+        return tree.contains(nextProbe());
+    }
+
+    @Benchmark
+    public Integer mapGetValue()
+    {
+        return map.getValue(nextProbe());
+    }
+
+    @Benchmark
+    public Integer treeGetValue()
+    {
+        return tree.getValue(nextProbe());
+    }
+}
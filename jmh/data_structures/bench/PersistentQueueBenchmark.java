@@ -0,0 +1,147 @@
+package data_structures.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.PersistentQueue;
+
+/**
+ * PersistentQueue throughput and recovery time. The throughput benchmarks
+ * enqueue and dequeue records of a given size through a queue with small
+ * segments, so segment rolls and deletes are part of the cost. The recovery
+ * benchmark reopens a queue whose metadata was saved before a backlog of
+ * records was written, as after a crash, so opening it has to scan every
+ * record to find the write position.
+ *
+ * The files go to the default temporary directory; point java.io.tmpdir at
+ * the disk of interest to measure it rather than the page cache.
+ *
+ * @author Connor Guy
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentQueueBenchmark
+{
+    private static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static void delete(final File file)
+    {
+        final File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @State(Scope.Thread)
+    public static class Throughput
+    {
+        @Param({ "64", "1024" })
+        int recordSize;
+
+        File directory;
+        PersistentQueue queue;
+        ByteBuffer record;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException
+        {
+            directory = Files.createTempDirectory("persistent-queue-bench").toFile();
+            queue = new PersistentQueue(directory, SEGMENT_SIZE);
+            record = ByteBuffer.allocate(recordSize);
+            // A short backlog keeps the reader a little behind the writer
+            for (int i = 0; i < 1024; i++)
+            {
+                queue.enqueue(record);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            queue.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Recovery
+    {
+        @Param({ "10000", "100000" })
+        int backlog;
+
+        File directory;
+        File metaFile;
+        byte[] staleMeta;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException
+        {
+            directory = Files.createTempDirectory("persistent-queue-bench").toFile();
+            metaFile = new File(directory, "queue.meta");
+            try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+            {
+                staleMeta = Files.readAllBytes(metaFile.toPath());
+                final ByteBuffer record = ByteBuffer.allocate(64);
+                for (int i = 0; i < backlog; i++)
+                {
+                    queue.enqueue(record);
+                }
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void restoreMeta() throws IOException
+        {
+            Files.write(metaFile.toPath(), staleMeta);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer enqueueDequeue(final Throughput state) throws IOException
+    {
+        state.queue.enqueue(state.record);
+        return state.queue.dequeue();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long recover(final Recovery state) throws IOException
+    {
+        try (PersistentQueue queue = new PersistentQueue(state.directory, SEGMENT_SIZE))
+        {
+            return queue.size();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.IntStack;
+import data_structures.LongQueue;
+import data_structures.Queue;
+import data_structures.Stack;
+
+/**
+ * Heap footprint of the primitive IntStack and LongQueue against Stack of
+ * Integer and Queue of Long. Each benchmark builds one structure holding size
+ * values and returns it. The primitive structures are presized and nothing
+ * is removed, so the gc.alloc.rate.norm the GC profiler reports (bytes/op)
+ * is the heap the finished structure occupies. The values start above the
+ * Integer and Long caches, as IDs and offsets would, so every boxed value
+ * costs a box.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveFootprintBenchmark
+{
+    private static final int FIRST_VALUE = 1 << 20;
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Benchmark
+    public Stack<Integer> boxedStack()
+    {
+        final Stack<Integer> stack = new Stack<Integer>();
+        for (int i = 0; i < size; i++)
+        {
+            stack.push(FIRST_VALUE + i);
+        }
+        return stack;
+    }
+
+    @Benchmark
+    public IntStack intStack()
+    {
+        final IntStack stack = new IntStack(size);
+        for (int i = 0; i < size; i++)
+        {
+            stack.push(FIRST_VALUE + i);
+        }
+        return stack;
+    }
+
+    @Benchmark
+    public Queue<Long> boxedQueue()
+    {
+        final Queue<Long> queue = new Queue<Long>();
+        for (int i = 0; i < size; i++)
+        {
+            queue.enqueue((long) FIRST_VALUE + i);
+        }
+        return queue;
+    }
+
+    @Benchmark
+    public LongQueue longQueue()
+    {
+        final LongQueue queue = new LongQueue(size);
+        for (int i = 0; i < size; i++)
+        {
+            queue.enqueue(FIRST_VALUE + i);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,96 @@
+package data_structures.bench;
+
+import java.util.ListIterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.PriorityQueue;
+
+/**
+ * PriorityQueue against a list kept in sorted order, the approach it
+ * replaces. Each call is one step of a hold model: the smallest entry is
+ * dequeued and a new one is enqueued with a random priority later than it,
+ * so the queue stays at size entries. The sorted list pays a linear walk
+ * per insert; the heap pays O(log n) compares spread over its arity.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriorityQueueBenchmark
+{
+    @Param({ "100", "10000" })
+    int size;
+
+    @Param({ "2", "4", "8" })
+    int arity;
+
+    private PriorityQueue<Integer> heap;
+    private java.util.LinkedList<Integer> sorted;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        random = new SplittableRandom(42);
+        heap = new PriorityQueue<Integer>(arity, null);
+        sorted = new java.util.LinkedList<Integer>();
+        for (int i = 0; i < size; i++)
+        {
+            final Integer priority = random.nextInt(size);
+            heap.enqueue(priority);
+            insertSorted(priority);
+        }
+    }
+
+    private int nextPriority(final int after)
+    {
+        return after + random.nextInt(size);
+    }
+
+    private void insertSorted(final Integer priority)
+    {
+        final ListIterator<Integer> position = sorted.listIterator();
+        while (position.hasNext())
+        {
+            if (position.next() > priority)
+            {
+                position.previous();
+                break;
+            }
+        }
+        position.add(priority);
+    }
+
+    @Benchmark
+    public PriorityQueue.Handle<Integer> heapHold()
+    {
+        return heap.enqueue(nextPriority(heap.dequeue()));
+    }
+
+    @Benchmark
+    public int sortedListHold()
+    {
+        final int first = sorted.removeFirst();
+        insertSorted(nextPriority(first));
+        return first;
+    }
+}
@@ -0,0 +1,93 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.ArrayDeque;
+import data_structures.LinkedList;
+import data_structures.ListI;
+import data_structures.Queue;
+import data_structures.Stack;
+
+/**
+ * Throughput of a Queue and a Stack holding a steady number of elements, on
+ * each of the list implementations they can be built on.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueStackBenchmark
+{
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Param({ "LinkedList", "ArrayDeque" })
+    String backing;
+
+    private Queue<Integer> queue;
+    private Stack<Integer> stack;
+    private Integer[] keys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        keys = KeyDistribution.RANDOM.keys(size, 42);
+        queue = new Queue<Integer>(newList());
+        stack = new Stack<Integer>(newList());
+        for (Integer key : keys)
+        {
+            queue.enqueue(key);
+            stack.push(key);
+        }
+        next = 0;
+    }
+
+    private ListI<Integer> newList()
+    {
+        if ("ArrayDeque".equals(backing))
+        {
+            return new ArrayDeque<Integer>();
+        }
+        return new LinkedList<Integer>();
+    }
+
+    private Integer nextKey()
+    {
+        final Integer key = keys[next];
+        next = next + 1 == keys.length ? 0 : next + 1;
+        return key;
+    }
+
+    @Benchmark
+    public Integer enqueueDequeue()
+    {
+        queue.enqueue(nextKey());
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    public Integer pushPop()
+    {
+        stack.push(nextKey());
+        return stack.pop();
+    }
+}
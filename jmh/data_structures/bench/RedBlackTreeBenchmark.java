@@ -0,0 +1,107 @@
+package data_structures.bench;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import data_structures.RedBlackTree;
+
+/**
+ * Building, searching and walking a RedBlackTree with keys in different
+ * orders. add, iterator and height are measured per call over the whole
+ * tree; contains and getValue per lookup.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedBlackTreeBenchmark
+{
+    @Param({ "1000", "100000" })
+    int size;
+
+    @Param({ "RANDOM", "SEQUENTIAL", "SKEWED" })
+    KeyDistribution distribution;
+
+    private RedBlackTree<Integer, Integer> tree;
+    private Integer[] keys, probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        keys = distribution.keys(size, 42);
+        probes = distribution.keys(size, 7);
+        tree = build();
+        next = 0;
+    }
+
+    private RedBlackTree<Integer, Integer> build()
+    {
+        final RedBlackTree<Integer, Integer> newTree = new RedBlackTree<Integer, Integer>();
+        for (Integer key : keys)
+        {
+            newTree.add(key, key);
+        }
+        return newTree;
+    }
+
+    private Integer nextProbe()
+    {
+        final Integer key = probes[next];
+        next = next + 1 == probes.length ? 0 : next + 1;
+        return key;
+    }
+
+    @Benchmark
+    public RedBlackTree<Integer, Integer> add()
+    {
+        return build();
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return tree.contains(nextProbe());
+    }
+
+    @Benchmark
+    public Integer getValue()
+    {
+        return tree.getValue(nextProbe());
+    }
+
+    @Benchmark
+    public void iterator(final Blackhole blackhole)
+    {
+        final Iterator<Integer> iterator = tree.iterator();
+        while (iterator.hasNext())
+        {
+            blackhole.consume(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public int height()
+    {
+        return tree.height();
+    }
+}
@@ -0,0 +1,78 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.ConcurrentQueue;
+import data_structures.ShardedQueue;
+
+/**
+ * ShardedQueue against a single-lane ConcurrentQueue under concurrent
+ * producers and consumers. Every thread does an enqueue followed by a
+ * dequeue, so each lane sees both ends contended. The ordering parameter
+ * shows what relaxed FIFO buys over keeping one order across lanes. Run
+ * with -t to change the thread count; scaling needs as many cores as
+ * threads.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ShardedQueueBenchmark
+{
+    @Param({ "4", "16" })
+    int lanes;
+
+    @Param({ "THREAD", "HASH" })
+    ShardedQueue.LaneSelection selection;
+
+    @Param({ "ROUND_ROBIN", "WORK_STEALING" })
+    ShardedQueue.DequeueMode mode;
+
+    @Param({ "RELAXED", "FIFO" })
+    ShardedQueue.Ordering ordering;
+
+    private ShardedQueue<Integer> sharded;
+    private ConcurrentQueue<Integer> single;
+    private final Integer value = 1000;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        sharded = new ShardedQueue<Integer>(lanes, selection, mode, ordering);
+        single = new ConcurrentQueue<Integer>();
+    }
+
+    @Benchmark
+    public Integer sharded()
+    {
+        sharded.enqueue(value);
+        return sharded.dequeue();
+    }
+
+    @Benchmark
+    public Integer singleLane()
+    {
+        single.enqueue(value);
+        return single.dequeue();
+    }
+}
@@ -0,0 +1,138 @@
+package data_structures.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.Control;
+
+import data_structures.SpscQueue;
+
+/**
+ * One producer thread and one consumer thread sharing SpscQueues.
+ *
+ * transfer and batch measure throughput: the producer offers (or fills a
+ * batch) and the consumer dequeues (or drains a batch), each counting the
+ * calls it makes. roundTrip measures latency percentiles: ping sends an
+ * element through one queue and waits for pong to send it back through a
+ * second, so each sample is one round trip through two queues.
+ *
+ * Both threads spin, so results only mean something with at least two free
+ * cores.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Group)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpscQueueBenchmark
+{
+    private static final Integer ELEMENT = 42;
+
+    @Param({ "1024" })
+    int capacity;
+
+    @Param({ "64" })
+    int batch;
+
+    private SpscQueue<Integer> queue, reply;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        queue = new SpscQueue<Integer>(capacity);
+        reply = new SpscQueue<Integer>(capacity);
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean offer()
+    {
+        return queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("transfer")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Integer dequeue()
+    {
+        return queue.dequeue();
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int fill()
+    {
+        return queue.fill(() -> ELEMENT, batch);
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int drain(final Blackhole blackhole)
+    {
+        return queue.drain(blackhole::consume, batch);
+    }
+
+    @Benchmark
+    @Group("roundTrip")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer ping(final Control control)
+    {
+        while (!queue.offer(ELEMENT) && !control.stopMeasurement)
+        {
+            Thread.onSpinWait();
+        }
+        Integer back;
+        while ((back = reply.dequeue()) == null && !control.stopMeasurement)
+        {
+            Thread.onSpinWait();
+        }
+        return back;
+    }
+
+    @Benchmark
+    @Group("roundTrip")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void pong(final Control control)
+    {
+        Integer element;
+        while ((element = queue.dequeue()) == null && !control.stopMeasurement)
+        {
+            Thread.onSpinWait();
+        }
+        while (element != null && !reply.offer(element) && !control.stopMeasurement)
+        {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package data_structures.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import data_structures.ArrayDeque;
+import data_structures.Queue;
+import data_structures.TimingWheel;
+
+/**
+ * A TimingWheel holding a large number of pending timers, against the plain
+ * Queue that is rescanned on every tick. Delays are spread uniformly over
+ * maxDelay ticks, and every timer that expires is scheduled again so the
+ * number pending stays steady. schedule and cancel are measured per pair;
+ * ticks per tick.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TimingWheelBenchmark
+{
+    @Param({ "1000000" })
+    int pending;
+
+    @Param({ "65536" })
+    int maxDelay;
+
+    private TimingWheel<Long> wheel;
+    private Queue<long[]> queue;
+    private long queueNow;
+    private Random random;
+    private Consumer<Long> reschedule;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        random = new Random(42);
+        wheel = new TimingWheel<Long>();
+        queue = new Queue<long[]>(new ArrayDeque<long[]>(pending));
+        queueNow = 0;
+        for (int i = 0; i < pending; i++)
+        {
+            final long delay = 1 + random.nextInt(maxDelay);
+            wheel.schedule(delay, delay);
+            queue.enqueue(new long[] { delay });
+        }
+        reschedule = delay -> wheel.schedule(delay, delay);
+    }
+
+    @Benchmark
+    public boolean wheelScheduleCancel()
+    {
+        return wheel.cancel(wheel.schedule(0L, 1 + random.nextInt(maxDelay)));
+    }
+
+    @Benchmark
+    public int wheelTick()
+    {
+        return wheel.tick(reschedule);
+    }
+
+    @Benchmark
+    public void queueScanTick(final Blackhole blackhole)
+    {
+        queueNow++;
+        for (int i = queue.size(); i > 0; i--)
+        {
+            final long[] deadline = queue.dequeue();
+            if (deadline[0] <= queueNow)
+            {
+                blackhole.consume(deadline);
+                deadline[0] = queueNow + 1 + random.nextInt(maxDelay);
+            }
+            queue.enqueue(deadline);
+        }
+    }
+}
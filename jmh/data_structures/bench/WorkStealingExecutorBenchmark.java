@@ -0,0 +1,137 @@
+package data_structures.bench;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import data_structures.WorkStealingExecutor;
+
+/**
+ * Throughput of a recursive divide-and-conquer workload: a naive Fibonacci
+ * that forks one half and computes the other, down to a sequential
+ * threshold. WorkStealingExecutor is compared with ForkJoinPool at the same
+ * parallelism and with a plain sequential call. A lower threshold means
+ * more, smaller tasks, which stresses the deques rather than the arithmetic.
+ *
+ * @author Connor Guy
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingExecutorBenchmark
+{
+    @Param({ "25" })
+    int n;
+
+    @Param({ "5", "12" })
+    int threshold;
+
+    @Param({ "1", "4" })
+    int parallelism;
+
+    private WorkStealingExecutor executor;
+    private ForkJoinPool forkJoin;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        executor = new WorkStealingExecutor(parallelism);
+        forkJoin = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        executor.shutdown();
+        forkJoin.shutdown();
+    }
+
+    private static long sequential(final int n)
+    {
+        return n < 2 ? n : sequential(n - 1) + sequential(n - 2);
+    }
+
+    private static final class Fibonacci extends WorkStealingExecutor.Task<Long>
+    {
+        private final int n, threshold;
+
+        Fibonacci(final int n, final int threshold)
+        {
+            this.n = n;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            if (n <= threshold)
+            {
+                return sequential(n);
+            }
+            final Fibonacci first = new Fibonacci(n - 1, threshold);
+            first.fork();
+            final long second = new Fibonacci(n - 2, threshold).compute();
+            return first.join() + second;
+        }
+    }
+
+    private static final class ForkJoinFibonacci extends RecursiveTask<Long>
+    {
+        private final int n, threshold;
+
+        ForkJoinFibonacci(final int n, final int threshold)
+        {
+            this.n = n;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            if (n <= threshold)
+            {
+                return sequential(n);
+            }
+            final ForkJoinFibonacci first = new ForkJoinFibonacci(n - 1, threshold);
+            first.fork();
+            final long second = new ForkJoinFibonacci(n - 2, threshold).compute();
+            return first.join() + second;
+        }
+    }
+
+    @Benchmark
+    public long workStealing()
+    {
+        return executor.invoke(new Fibonacci(n, threshold));
+    }
+
+    @Benchmark
+    public long forkJoinPool()
+    {
+        return forkJoin.invoke(new ForkJoinFibonacci(n, threshold));
+    }
+
+    @Benchmark
+    public long sequential()
+    {
+        return sequential(n);
+    }
+}
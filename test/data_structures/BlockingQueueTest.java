@@ -0,0 +1,187 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class BlockingQueueTest
+{
+    private static void awaitWaiting(final Thread thread)
+    {
+        while (thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TIMED_WAITING)
+        {
+            Thread.yield();
+        }
+    }
+
+    @Test
+    public void takeWaitsForPut() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>();
+        final AtomicReference<Integer> taken = new AtomicReference<Integer>();
+        final Thread consumer = new Thread(() -> {
+            try
+            {
+                taken.set(queue.take());
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+        assertNull(taken.get());
+        queue.put(7);
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertEquals(7, taken.get());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void putWaitsForRoom() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>(1);
+        assertTrue(queue.enqueue(1));
+        assertFalse(queue.enqueue(2));
+        final Thread producer = new Thread(() -> {
+            try
+            {
+                queue.put(2);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        awaitWaiting(producer);
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.take());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.peek());
+        assertTrue(queue.isFull());
+    }
+
+    @Test
+    public void timedPollAndOfferGiveUp() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>(1);
+        long start = System.nanoTime();
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertTrue(queue.offer(1, 0, TimeUnit.SECONDS));
+        start = System.nanoTime();
+        assertFalse(queue.offer(2, 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, queue.poll(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void timedPollReturnsWhatArrivesInTime() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>();
+        final Thread producer = new Thread(() -> {
+            try
+            {
+                Thread.sleep(20);
+                queue.put(3);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals(3, queue.poll(5, TimeUnit.SECONDS));
+        producer.join(5000);
+    }
+
+    @Test
+    public void eachPutWakesOneConsumer() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>();
+        final ConcurrentHashMap<Integer, Integer> taken = new ConcurrentHashMap<Integer, Integer>();
+        final Thread[] consumers = new Thread[4];
+        for (int i = 0; i < consumers.length; i++)
+        {
+            consumers[i] = new Thread(() -> {
+                try
+                {
+                    final Integer value = queue.take();
+                    taken.put(value, value);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumers[i].start();
+        }
+        for (Thread consumer : consumers)
+        {
+            awaitWaiting(consumer);
+        }
+        for (int i = 0; i < consumers.length; i++)
+        {
+            queue.put(i);
+        }
+        for (Thread consumer : consumers)
+        {
+            consumer.join(5000);
+            assertFalse(consumer.isAlive());
+        }
+        assertEquals(consumers.length, taken.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void waitingConsumerCanBeInterrupted() throws InterruptedException
+    {
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final Thread consumer = new Thread(() -> {
+            try
+            {
+                queue.take();
+            }
+            catch (Throwable e)
+            {
+                failure.set(e);
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+        consumer.interrupt();
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertTrue(failure.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void defaultCapacityIsReachableAndNotPreallocated()
+    {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        final BlockingQueue<Integer> queue = new BlockingQueue<Integer>();
+        assertTrue(threads.getThreadAllocatedBytes(id) - before < 4096);
+        assertEquals(RingBuffers.MAX_CAPACITY, queue.capacity());
+        assertThrows(IllegalArgumentException.class,
+                () -> new BlockingQueue<Integer>(RingBuffers.MAX_CAPACITY + 1));
+    }
+}
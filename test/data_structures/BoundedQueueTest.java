@@ -0,0 +1,154 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class BoundedQueueTest
+{
+    private static List<Integer> contents(final Iterator<Integer> values)
+    {
+        final List<Integer> out = new ArrayList<Integer>();
+        values.forEachRemaining(out::add);
+        return out;
+    }
+
+    @Test
+    public void rejectPolicyThrowsWhenFull()
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(2);
+        queue.enqueue(1);
+        queue.enqueue(2);
+        assertTrue(queue.isFull());
+        assertFalse(queue.offer(3));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(3));
+        assertEquals(1, queue.dequeue());
+    }
+
+    @Test
+    public void dropOldestPolicyDiscardsTheHead()
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(2, OverflowPolicy.DROP_OLDEST);
+        queue.enqueue(1);
+        queue.enqueue(2);
+        queue.enqueue(3);
+        assertEquals(2, queue.dequeue());
+        assertEquals(3, queue.dequeue());
+
+        final BoundedStack<Integer> stack = new BoundedStack<Integer>(2, OverflowPolicy.DROP_OLDEST);
+        stack.push(1);
+        stack.push(2);
+        stack.push(3);
+        assertEquals(3, stack.pop());
+        assertEquals(2, stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void blockedProducerCanBeInterrupted() throws InterruptedException
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(1, OverflowPolicy.BLOCK);
+        queue.enqueue(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            started.countDown();
+            try
+            {
+                queue.put(2);
+            }
+            catch (Throwable e)
+            {
+                failure.set(e);
+            }
+        });
+        producer.start();
+        started.await();
+        producer.interrupt();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(failure.get() instanceof InterruptedException);
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void blockedProducerResumesWhenRoomIsMade() throws InterruptedException
+    {
+        final BoundedStack<Integer> stack = new BoundedStack<Integer>(1, OverflowPolicy.BLOCK);
+        stack.push(1);
+        final Thread producer = new Thread(() -> stack.push(2));
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING)
+        {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, stack.pop());
+        producer.join(5000);
+        assertEquals(2, stack.peek());
+    }
+
+    @Test
+    public void blockingEnqueueIgnoresInterruptsUntilThereIsRoom() throws InterruptedException
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(1, OverflowPolicy.BLOCK);
+        queue.enqueue(1);
+        final AtomicReference<Boolean> interrupted = new AtomicReference<Boolean>();
+        final Thread producer = new Thread(() -> {
+            queue.enqueue(2);
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING)
+        {
+            Thread.onSpinWait();
+        }
+        producer.interrupt();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+        assertEquals(1, queue.dequeue());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertTrue(interrupted.get());
+        assertEquals(2, queue.dequeue());
+    }
+
+    @Test
+    public void bothEndsIterateOldestFirst()
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(3, OverflowPolicy.DROP_OLDEST);
+        final BoundedStack<Integer> stack = new BoundedStack<Integer>(3, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 4; i++)
+        {
+            queue.enqueue(i);
+            stack.push(i);
+        }
+        assertEquals(List.of(1, 2, 3), contents(queue.iterator()));
+        assertEquals(List.of(1, 2, 3), contents(stack.iterator()));
+        assertEquals(1, queue.peek());
+        assertEquals(3, stack.peek());
+    }
+
+    @Test
+    public void timedOfferWaitsThenGivesUp() throws InterruptedException
+    {
+        final BoundedQueue<Integer> queue = new BoundedQueue<Integer>(1);
+        assertTrue(queue.offer(1, 1, TimeUnit.SECONDS));
+        final long start = System.nanoTime();
+        assertFalse(queue.offer(2, 50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        final BoundedStack<Integer> stack = new BoundedStack<Integer>(1);
+        assertTrue(stack.tryPush(1));
+        assertFalse(stack.tryPush(2, 0, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,134 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentQueueTest
+{
+    private static final int PRODUCERS = 4, CONSUMERS = 4, PER_PRODUCER = 50000;
+
+    @Test
+    public void behavesLikeAQueueOnOneThread()
+    {
+        final ConcurrentQueue<Integer> queue = new ConcurrentQueue<Integer>();
+        final java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<Integer>();
+        final Random random = new Random(1);
+        for (int i = 0; i < 10000; i++)
+        {
+            if (random.nextInt(3) > 0)
+            {
+                queue.enqueue(i);
+                expected.addLast(i);
+            }
+            else
+            {
+                assertEquals(expected.peekFirst(), queue.peek());
+                assertEquals(expected.pollFirst(), queue.dequeue());
+            }
+            assertEquals(expected.size(), queue.size());
+            assertEquals(expected.isEmpty(), queue.isEmpty());
+        }
+        assertThrows(NullPointerException.class, () -> queue.enqueue(null));
+    }
+
+    /**
+     * Producers enqueue their own increasing sequence numbers while consumers
+     * dequeue. In any linearizable FIFO history every element comes out
+     * exactly once, and each consumer sees every producer's elements in the
+     * order they were enqueued.
+     */
+    @Test
+    public void concurrentHistoryIsLinearizable() throws Exception
+    {
+        final ConcurrentQueue<Long> queue = new ConcurrentQueue<Long>();
+        final AtomicInteger[] seen = new AtomicInteger[PRODUCERS * PER_PRODUCER];
+        for (int i = 0; i < seen.length; i++)
+        {
+            seen[i] = new AtomicInteger();
+        }
+        final AtomicInteger consumed = new AtomicInteger();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        final CyclicBarrier start = new CyclicBarrier(PRODUCERS + CONSUMERS);
+        final Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            final long producer = p;
+            threads[p] = new Thread(() -> {
+                await(start);
+                for (int seq = 0; seq < PER_PRODUCER; seq++)
+                {
+                    queue.enqueue((producer << 32) | seq);
+                }
+            });
+        }
+        for (int c = 0; c < CONSUMERS; c++)
+        {
+            threads[PRODUCERS + c] = new Thread(() -> {
+                final long[] lastSeq = new long[PRODUCERS];
+                java.util.Arrays.fill(lastSeq, -1);
+                await(start);
+                while (consumed.get() < PRODUCERS * PER_PRODUCER)
+                {
+                    final Long value = queue.dequeue();
+                    if (value == null)
+                    {
+                        continue;
+                    }
+                    consumed.incrementAndGet();
+                    final int producer = (int) (value >>> 32);
+                    final int seq = (int) (long) value;
+                    if (seq <= lastSeq[producer])
+                    {
+                        failure.compareAndSet(null, "producer " + producer + " out of order: " + seq
+                                + " after " + lastSeq[producer]);
+                    }
+                    lastSeq[producer] = seq;
+                    if (seen[producer * PER_PRODUCER + seq].incrementAndGet() != 1)
+                    {
+                        failure.compareAndSet(null, "duplicate " + producer + "/" + seq);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join(60000);
+            assertTrue(!thread.isAlive(), "stress test did not finish");
+        }
+
+        assertNull(failure.get(), failure.get());
+        for (int i = 0; i < seen.length; i++)
+        {
+            assertEquals(1, seen[i].get(), "element " + i);
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertNull(queue.dequeue());
+    }
+
+    private static void await(final CyclicBarrier barrier)
+    {
+        try
+        {
+            barrier.await();
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentSkipListTest
+{
+    private static final int THREADS = 4, KEYS = 20000;
+
+    @Test
+    public void ignoresDuplicatesAndIteratesInOrder()
+    {
+        final ConcurrentSkipList<Integer, String> list = new ConcurrentSkipList<Integer, String>();
+        for (int i = 999; i >= 0; i--)
+        {
+            list.add(i % 500, "v" + i);
+        }
+        assertEquals(500, list.size());
+        assertEquals("v999", list.getValue(499));
+        assertFalse(list.contains(500));
+        int expected = 0;
+        for (Integer key : list)
+        {
+            assertEquals(expected++, key);
+        }
+        assertEquals(500, expected);
+    }
+
+    /**
+     * Threads add overlapping ranges of keys at once. Every key must end up
+     * in the list once, in order, however the adds interleave.
+     */
+    @Test
+    public void concurrentAddsKeepEveryKeyOnceInOrder() throws Exception
+    {
+        final ConcurrentSkipList<Integer, Integer> list = new ConcurrentSkipList<Integer, Integer>();
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++)
+        {
+            final int offset = t * (KEYS / (2 * THREADS));
+            threads[t] = new Thread(() -> {
+                try
+                {
+                    start.await();
+                }
+                catch (Exception e)
+                {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < KEYS / 2; i++)
+                {
+                    final int key = (offset + i * 7919) % KEYS;
+                    list.add(key, key);
+                }
+            });
+        }
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join(60000);
+            assertFalse(thread.isAlive(), "adds did not finish");
+        }
+
+        int previous = -1, count = 0;
+        for (Integer key : list)
+        {
+            assertTrue(key > previous, key + " after " + previous);
+            assertTrue(list.contains(key));
+            previous = key;
+            count++;
+        }
+        assertEquals(count, list.size());
+        assertTrue(list.height() >= 1);
+    }
+}
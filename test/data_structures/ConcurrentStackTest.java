@@ -0,0 +1,75 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentStackTest
+{
+    @Test
+    public void popsInLastInFirstOutOrder()
+    {
+        final ConcurrentStack<Integer> stack = new ConcurrentStack<Integer>();
+        for (int i = 0; i < 5; i++)
+        {
+            stack.push(i);
+        }
+        assertEquals(5, stack.size());
+        assertEquals(4, stack.peek());
+        for (int i = 4; i >= 0; i--)
+        {
+            assertEquals(i, stack.pop());
+        }
+        assertNull(stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void everyPushedElementIsPoppedExactlyOnce() throws InterruptedException
+    {
+        final int threads = 4, perThread = 50000;
+        final ConcurrentStack<Integer> stack = new ConcurrentStack<Integer>();
+        final AtomicIntegerArray popped = new AtomicIntegerArray(threads * perThread);
+        final AtomicInteger remaining = new AtomicInteger(threads * perThread);
+        final Thread[] workers = new Thread[threads * 2];
+        for (int t = 0; t < threads; t++)
+        {
+            final int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                {
+                    stack.push(base + i);
+                }
+            });
+            workers[threads + t] = new Thread(() -> {
+                while (remaining.get() > 0)
+                {
+                    final Integer value = stack.pop();
+                    if (value != null)
+                    {
+                        popped.incrementAndGet(value);
+                        remaining.decrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread worker : workers)
+        {
+            worker.start();
+        }
+        for (Thread worker : workers)
+        {
+            worker.join(60000);
+        }
+        for (int i = 0; i < popped.length(); i++)
+        {
+            assertEquals(1, popped.get(i), "element " + i);
+        }
+        assertTrue(stack.isEmpty());
+    }
+}
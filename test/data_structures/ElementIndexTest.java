@@ -0,0 +1,131 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ElementIndexTest
+{
+    /** A key whose hash code is chosen by the test, so keys can collide. */
+    private static final class Key
+    {
+        final int id, hash;
+
+        Key(final int id, final int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return other instanceof Key && ((Key) other).id == id;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    @Test
+    public void countsDuplicatesUntilTheLastIsRemoved()
+    {
+        final ElementIndex<String> index = new ElementIndex<String>();
+        index.add("a");
+        index.add("a");
+        index.add(null);
+        index.add("b");
+        assertEquals(2, index.count("a"));
+        assertEquals(1, index.count(null));
+
+        index.remove("a");
+        assertTrue(index.contains("a"));
+        assertEquals(1, index.count("a"));
+        index.remove("a");
+        assertFalse(index.contains("a"));
+        assertEquals(0, index.count("a"));
+
+        index.remove("a");
+        index.remove("missing");
+        assertEquals(0, index.count("a"));
+        assertTrue(index.contains("b"));
+        index.remove(null);
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    public void deletionShiftsTheProbeRunBack()
+    {
+        final ElementIndex<Key> index = new ElementIndex<Key>();
+        final Key[] keys = new Key[10];
+        for (int i = 0; i < keys.length; i++)
+        {
+            // Hash 32 lands in the last of the 16 slots and 0 in the first,
+            // so the run wraps around the end of the table and a shift has
+            // to skip entries whose home is after the gap
+            keys[i] = new Key(i, i % 2 == 0 ? 32 : 0);
+            index.add(keys[i]);
+        }
+        for (int i = 0; i < keys.length; i += 3)
+        {
+            index.remove(keys[i]);
+        }
+        for (int i = 0; i < keys.length; i++)
+        {
+            assertEquals(i % 3 != 0, index.contains(keys[i]), "key " + i);
+        }
+        for (int i = 0; i < keys.length; i += 3)
+        {
+            index.add(keys[i]);
+        }
+        for (Key key : keys)
+        {
+            assertEquals(1, index.count(key));
+        }
+    }
+
+    @Test
+    public void matchesHashMapCountsUnderChurn()
+    {
+        final ElementIndex<Key> index = new ElementIndex<Key>();
+        final Map<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        final Random random = new Random(35);
+        for (int step = 0; step < 20000; step++)
+        {
+            // Few distinct hash codes, so runs are long, wrap around the
+            // end of the table, and are shifted on almost every delete
+            final int id = random.nextInt(200);
+            final Key key = new Key(id, id % 5);
+            if (random.nextInt(3) == 0)
+            {
+                index.remove(key);
+                expected.computeIfPresent(id, (k, count) -> count == 1 ? null : count - 1);
+            }
+            else
+            {
+                index.add(key);
+                expected.merge(id, 1, Integer::sum);
+            }
+            if (step % 1000 == 0)
+            {
+                for (int i = 0; i < 200; i++)
+                {
+                    assertEquals(expected.getOrDefault(i, 0), index.count(new Key(i, i % 5)), "key " + i);
+                }
+            }
+        }
+        for (int i = 0; i < 200; i++)
+        {
+            assertEquals(expected.containsKey(i), index.contains(new Key(i, i % 5)), "key " + i);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class InstrumentedListTest
+{
+    @Test
+    public void bulkListCallsAreDelegatedAndCountedOnce()
+    {
+        final InstrumentedList<Integer> list = new InstrumentedList<Integer>(new ArrayDeque<Integer>(), 1);
+        list.addAll(List.of(1, 2, 3));
+        list.addAllLast(new Integer[] {4, 5, 6}, 1, 2);
+        final List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(2, list.drainTo(drained, 2));
+        final Integer[] out = new Integer[3];
+        assertEquals(3, list.drainTo(out, 0, 3));
+
+        assertEquals(List.of(1, 2), drained);
+        assertArrayEquals(new Integer[] {3, 5, 6}, out);
+        final Map<String, Long> snapshot = list.metrics().snapshot();
+        assertEquals(1L, snapshot.get("addAll.count"));
+        assertEquals(1L, snapshot.get("addAllLast.count"));
+        assertEquals(2L, snapshot.get("drainTo.count"));
+        assertEquals(0L, snapshot.get("addLast.count"));
+        assertEquals(0L, snapshot.get("removeFirst.count"));
+        assertEquals(5L, snapshot.get("peakSize"));
+    }
+
+    @Test
+    public void queueAndStackRecordTheSameOperations()
+    {
+        final InstrumentedQueue<Integer> queue = new InstrumentedQueue<Integer>(new LinkedList<Integer>(), 1);
+        final InstrumentedStack<Integer> stack = new InstrumentedStack<Integer>(new LinkedList<Integer>(), 1);
+        queue.enqueue(1);
+        queue.addAllLast(new Integer[] {2, 3}, 0, 2);
+        stack.push(1);
+        stack.addAllLast(new Integer[] {2, 3}, 0, 2);
+        assertEquals(1, queue.dequeue());
+        assertEquals(3, stack.pop());
+        assertEquals(2, queue.drainTo(new Integer[2], 0, 2));
+        assertEquals(2, stack.drainTo(new ArrayList<Integer>(), 5));
+
+        final Map<String, Long> queueSnapshot = queue.metrics().snapshot();
+        final Map<String, Long> stackSnapshot = stack.metrics().snapshot();
+        assertEquals(1L, queueSnapshot.get("enqueue.count"));
+        assertEquals(1L, queueSnapshot.get("dequeue.count"));
+        assertEquals(1L, stackSnapshot.get("push.count"));
+        assertEquals(1L, stackSnapshot.get("pop.count"));
+        for (Map<String, Long> snapshot : List.of(queueSnapshot, stackSnapshot))
+        {
+            assertEquals(1L, snapshot.get("addAll.count"));
+            assertEquals(1L, snapshot.get("drainTo.count"));
+            assertEquals(3L, snapshot.get("peakSize"));
+        }
+    }
+}
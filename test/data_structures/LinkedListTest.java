@@ -0,0 +1,442 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class LinkedListTest
+{
+    private static long allocatedBytes(final Runnable work)
+    {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        work.run();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    private static void churn(final LinkedList<Integer> list, final Integer value, final int steps)
+    {
+        for (int i = 0; i < steps; i++)
+        {
+            list.addLast(value);
+            list.removeFirst();
+        }
+    }
+
+    @Test
+    public void pooledListStopsAllocatingInSteadyState()
+    {
+        final Integer value = 1000;
+        final LinkedList<Integer> pooled = new LinkedList<Integer>(16);
+        final LinkedList<Integer> unpooled = new LinkedList<Integer>();
+        for (int i = 0; i < 100; i++)
+        {
+            pooled.addLast(value);
+            unpooled.addLast(value);
+        }
+        churn(pooled, value, 10000);
+        churn(unpooled, value, 10000);
+
+        final long pooledBytes = allocatedBytes(() -> churn(pooled, value, 100000));
+        final long unpooledBytes = allocatedBytes(() -> churn(unpooled, value, 100000));
+
+        assertTrue(pooledBytes < 100000, "pooled list allocated " + pooledBytes + " bytes");
+        assertTrue(unpooledBytes >= 100000L * 16, "unpooled list allocated " + unpooledBytes + " bytes");
+        assertEquals(100, pooled.size());
+    }
+
+    @Test
+    public void releasedNodesDoNotKeepDataReachable() throws InterruptedException
+    {
+        final LinkedList<Object> list = new LinkedList<Object>(4);
+        Object removed = new Object();
+        final WeakReference<Object> reference = new WeakReference<Object>(removed);
+        list.addLast(removed);
+        list.removeFirst();
+        removed = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+        assertTrue(list.isEmpty());
+    }
+
+    private static LinkedList<Integer> listOf(final int count)
+    {
+        final LinkedList<Integer> list = new LinkedList<Integer>(4);
+        for (int i = 0; i < count; i++)
+        {
+            list.addLast(i);
+        }
+        return list;
+    }
+
+    private static List<Integer> contents(final Iterable<Integer> source)
+    {
+        final List<Integer> out = new ArrayList<Integer>();
+        for (Integer value : source)
+        {
+            out.add(value);
+        }
+        return out;
+    }
+
+    private static void assertIndexAgrees(final LinkedList<Integer> indexed, final int range)
+    {
+        final LinkedList<Integer> plain = new LinkedList<Integer>();
+        for (Integer value : indexed)
+        {
+            plain.addLast(value);
+        }
+        for (int i = -1; i <= range; i++)
+        {
+            assertEquals(plain.contains(i), indexed.contains(i), "value " + i);
+        }
+    }
+
+    @Test
+    public void indexedContainsFollowsEveryRemoval()
+    {
+        final LinkedList<Integer> list = new LinkedList<Integer>(4, true);
+        for (int i = 0; i < 12; i++)
+        {
+            list.addLast(i % 6);
+        }
+        list.removeFirst();
+        list.removeLast();
+        assertTrue(list.contains(0));
+        assertTrue(list.contains(5));
+        assertIndexAgrees(list, 6);
+
+        list.removeIf(value -> value == 2);
+        assertFalse(list.contains(2));
+        assertIndexAgrees(list, 6);
+
+        final Iterator<Integer> it = list.iterator();
+        while (it.hasNext())
+        {
+            if (it.next() == 3)
+            {
+                it.remove();
+            }
+        }
+        assertFalse(list.contains(3));
+        assertIndexAgrees(list, 6);
+
+        final List<Integer> drained = new ArrayList<Integer>();
+        list.drainTo(drained, 3);
+        assertEquals(List.of(1, 4, 5), drained);
+        assertTrue(list.contains(1));
+        assertIndexAgrees(list, 6);
+        list.drainTo(new Integer[2], 0, 2);
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(1));
+        assertIndexAgrees(list, 6);
+
+        final LinkedList<Integer> other = new LinkedList<Integer>(0, true);
+        other.addLast(9);
+        list.splice(other);
+        assertTrue(list.contains(9));
+        assertFalse(other.contains(9));
+        assertIndexAgrees(list, 10);
+
+        list.makeEmpty();
+        assertFalse(list.contains(9));
+        assertIndexAgrees(list, 10);
+    }
+
+    @Test
+    public void indexedAndPlainListsAgreeOnEquality()
+    {
+        final LinkedList<BigDecimal> plain = new LinkedList<BigDecimal>();
+        final LinkedList<BigDecimal> indexed = new LinkedList<BigDecimal>(0, true);
+        for (LinkedList<BigDecimal> list : List.of(plain, indexed))
+        {
+            list.addLast(new BigDecimal("1.0"));
+            list.addLast(null);
+
+            // compareTo says these are the same, equals says they are not
+            assertTrue(list.contains(new BigDecimal("1.0")));
+            assertFalse(list.contains(new BigDecimal("1.00")));
+            assertTrue(list.contains(null));
+        }
+    }
+
+    @Test
+    public void iteratorRemoveNeedsAPrecedingNext()
+    {
+        final LinkedList<Integer> list = listOf(3);
+        final Iterator<Integer> it = list.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+
+        assertEquals(0, it.next());
+        it.remove();
+        assertThrows(IllegalStateException.class, it::remove);
+        assertEquals(1, it.next());
+        assertEquals(List.of(1, 2), contents(list));
+        assertEquals(2, list.size());
+    }
+
+    @Test
+    public void iteratorFailsFastOnOutsideChanges()
+    {
+        final LinkedList<Integer> list = listOf(3);
+        final Iterator<Integer> adding = list.iterator();
+        adding.next();
+        list.addLast(3);
+        assertTrue(adding.hasNext());
+        assertThrows(ConcurrentModificationException.class, adding::next);
+
+        final Iterator<Integer> removing = list.iterator();
+        removing.next();
+        list.removeFirst();
+        assertThrows(ConcurrentModificationException.class, removing::remove);
+        assertEquals(List.of(1, 2, 3), contents(list));
+
+        final Iterator<Integer> first = list.iterator();
+        final Iterator<Integer> second = list.iterator();
+        first.next();
+        second.next();
+        first.remove();
+        assertThrows(ConcurrentModificationException.class, second::next);
+        assertEquals(List.of(2, 3), contents(list));
+    }
+
+    @Test
+    public void iteratorRemoveKeepsSizePoolAndIndexConsistent()
+    {
+        final LinkedList<Integer> list = new LinkedList<Integer>(8, true);
+        for (int i = 0; i <= 10; i++)
+        {
+            list.addLast(i);
+        }
+        final long before = list.estimateBytes();
+
+        // Removes the head, the tail and everything even in between
+        final Iterator<Integer> it = list.iterator();
+        while (it.hasNext())
+        {
+            if (it.next() % 2 == 0)
+            {
+                it.remove();
+            }
+        }
+        assertEquals(List.of(1, 3, 5, 7, 9), contents(list));
+        assertEquals(5, list.size());
+        assertEquals(1, list.peekFirst());
+        assertEquals(9, list.peekLast());
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(10));
+        assertTrue(list.contains(9));
+
+        // The removed nodes went to the pool, so adding them back reuses
+        // them and the tail is still where new nodes are linked
+        assertEquals(before, list.estimateBytes());
+        for (int i = 0; i < 6; i++)
+        {
+            list.addLast(20 + i);
+        }
+        assertEquals(before, list.estimateBytes());
+        assertEquals(List.of(1, 3, 5, 7, 9, 20, 21, 22, 23, 24, 25), contents(list));
+        assertEquals(11, list.size());
+        assertTrue(list.contains(25));
+    }
+
+    @Test
+    public void spliceMovesEveryNodeAndEmptiesTheSource()
+    {
+        final LinkedList<Integer> target = new LinkedList<Integer>(0, true);
+        final LinkedList<Integer> source = new LinkedList<Integer>(0, true);
+        source.addLast(1);
+        source.addLast(2);
+
+        // Into an empty list, the spliced nodes become the head
+        target.splice(source);
+        assertEquals(List.of(1, 2), contents(target));
+        assertEquals(2, target.size());
+        assertEquals(1, target.peekFirst());
+        assertTrue(source.isEmpty());
+        assertFalse(source.contains(1));
+        assertTrue(target.contains(2));
+
+        // Onto a non-empty list they follow the old tail
+        source.addLast(3);
+        source.addLast(4);
+        target.splice(source);
+        assertEquals(List.of(1, 2, 3, 4), contents(target));
+        assertEquals(4, target.peekLast());
+
+        // Adding at both ends afterwards leaves them in the middle
+        source.addLast(5);
+        target.splice(source);
+        target.addFirst(0);
+        target.addLast(6);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), contents(target));
+        assertEquals(7, target.size());
+        assertIndexAgrees(target, 7);
+
+        // The emptied source is still usable
+        source.addLast(9);
+        assertEquals(List.of(9), contents(source));
+        assertEquals(1, source.size());
+        assertTrue(source.contains(9));
+        assertFalse(source.contains(5));
+    }
+
+    @Test
+    public void spliceOfAnEmptyListOrOfItselfChangesNothing()
+    {
+        final LinkedList<Integer> target = listOf(3);
+        target.splice(new LinkedList<Integer>());
+        assertEquals(List.of(0, 1, 2), contents(target));
+        assertEquals(3, target.size());
+
+        final Iterator<Integer> it = target.iterator();
+        it.next();
+        target.splice(new LinkedList<Integer>());
+        assertEquals(1, it.next());
+
+        assertThrows(IllegalArgumentException.class, () -> target.splice(target));
+        assertEquals(List.of(0, 1, 2), contents(target));
+        assertEquals(3, target.size());
+        assertEquals(2, target.peekLast());
+    }
+
+    @Test
+    public void drainToKeepsListConsistentWhenTargetThrows()
+    {
+        final LinkedList<Integer> list = listOf(10);
+        final List<Integer> target = new ArrayList<Integer>()
+        {
+            @Override
+            public boolean add(final Integer value)
+            {
+                if (size() == 3)
+                {
+                    throw new IllegalStateException("full");
+                }
+                return super.add(value);
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> list.drainTo(target, 10));
+
+        assertEquals(List.of(0, 1, 2), target);
+        assertEquals(7, list.size());
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), contents(list));
+        assertEquals(9, list.peekLast());
+        list.addLast(10);
+        assertEquals(3, list.removeFirst());
+        assertEquals(7, list.size());
+    }
+
+    @Test
+    public void drainToArrayKeepsListConsistentWhenStoreFails()
+    {
+        final LinkedList<Object> list = new LinkedList<Object>(4);
+        list.addLast("a");
+        list.addLast(1);
+        list.addLast("b");
+        final Object[] target = new String[3];
+
+        assertThrows(ArrayStoreException.class, () -> list.drainTo(target, 0, 3));
+
+        assertEquals("a", target[0]);
+        assertEquals(2, list.size());
+        assertEquals(1, list.removeFirst());
+        assertEquals("b", list.removeFirst());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void queueDequeuesAndIteratesOldestFirst()
+    {
+        final List<Queue<Integer>> queues = List.of(new Queue<Integer>(),
+                new Queue<Integer>(new ArrayDeque<Integer>()));
+        for (Queue<Integer> queue : queues)
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                queue.enqueue(i);
+            }
+            assertEquals(List.of(0, 1, 2, 3, 4), contents(queue::iterator));
+            assertEquals(0, queue.peek());
+            assertEquals(0, queue.dequeue());
+            assertEquals(1, queue.dequeue());
+            queue.enqueue(5);
+            assertEquals(2, queue.peek());
+            assertEquals(List.of(2, 3, 4, 5), contents(queue::iterator));
+        }
+    }
+
+    @Test
+    public void queueBatchOperationsKeepFifoOrder()
+    {
+        final Queue<Integer> queue = new Queue<Integer>();
+        queue.enqueue(0);
+        queue.addAllLast(new Integer[] {9, 1, 2, 9}, 1, 2);
+        queue.addAll(List.of(3, 4));
+        assertEquals(0, queue.peek());
+
+        final Integer[] out = new Integer[4];
+        assertEquals(3, queue.drainTo(out, 1, 3));
+        assertArrayEquals(new Integer[] {null, 0, 1, 2}, out);
+        final List<Integer> rest = new ArrayList<Integer>();
+        assertEquals(2, queue.drainTo(rest, 10));
+        assertEquals(List.of(3, 4), rest);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void stackBatchOperationsKeepLifoOrder()
+    {
+        final Stack<Integer> stack = new Stack<Integer>();
+        stack.addAllLast(new Integer[] {1, 2, 3}, 0, 3);
+        assertEquals(3, stack.peek());
+
+        final Integer[] out = new Integer[3];
+        assertEquals(3, stack.drainTo(out, 0, 3));
+        assertArrayEquals(new Integer[] {3, 2, 1}, out);
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void removeIfKeepsSizeWhenFilterThrows()
+    {
+        final LinkedList<Integer> list = listOf(10);
+
+        assertThrows(IllegalStateException.class, () -> list.removeIf(value ->
+        {
+            if (value == 6)
+            {
+                throw new IllegalStateException("filter failed");
+            }
+            return value % 2 == 0;
+        }));
+
+        assertEquals(List.of(1, 3, 5, 6, 7, 8, 9), contents(list));
+        assertEquals(7, list.size());
+        assertEquals(9, list.peekLast());
+        assertTrue(list.removeIf(value -> value > 5));
+        assertEquals(List.of(1, 3, 5), contents(list));
+        assertEquals(3, list.size());
+        assertEquals(5, list.peekLast());
+    }
+}
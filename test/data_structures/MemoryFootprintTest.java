@@ -0,0 +1,150 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pins the ObjectLayout estimates for shapes whose HotSpot sizes are known,
+ * and checks structure estimates against the bytes actually allocated to
+ * build them. The pom runs this class a second time with compressed
+ * references and class pointers turned off, so both layouts are covered.
+ */
+public class MemoryFootprintTest
+{
+    private static final int COUNT = 100000;
+
+    private static final boolean COMPRESSED = ObjectLayout.compressedOops();
+
+    private static long expect(final long compressed, final long uncompressed)
+    {
+        return COMPRESSED ? compressed : uncompressed;
+    }
+
+    private static Integer[] boxed(final int count)
+    {
+        final Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++)
+        {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    /**
+     * Runs the builder and returns what it built and how many bytes the
+     * current thread allocated doing so. Everything a builder allocates is
+     * retained by the structure it returns, so this is its heap footprint.
+     */
+    private static <T> long allocatedBytes(final Supplier<T> builder, final Object[] built)
+    {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long id = Thread.currentThread().getId();
+        // Warm up so class loading and compilation are not counted
+        builder.get();
+        final long before = threads.getThreadAllocatedBytes(id);
+        built[0] = builder.get();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    @Test
+    public void layoutMatchesKnownShapes()
+    {
+        assertEquals(expect(4, 8), ObjectLayout.referenceSize());
+        assertEquals(expect(12, 16), ObjectLayout.headerSize());
+        // java.lang.Object and java.lang.Integer
+        assertEquals(16, ObjectLayout.objectSize(0, 0, 0, 0));
+        assertEquals(expect(16, 24), ObjectLayout.objectSize(0, 1, 0, 0));
+        // java.lang.Long
+        assertEquals(24, ObjectLayout.objectSize(0, 0, 1, 0));
+        // LinkedList and RedBlackTree nodes, which hold their outer object
+        assertEquals(expect(24, 40), ObjectLayout.objectSize(3, 0, 0, 0));
+        assertEquals(expect(40, 72), ObjectLayout.objectSize(6, 0, 0, 2));
+        assertEquals(expect(16, 24), ObjectLayout.referenceArraySize(0));
+        assertEquals(expect(56, 104), ObjectLayout.referenceArraySize(10));
+        assertEquals(expect(40, 48), ObjectLayout.arraySize(3, 8));
+        assertEquals(expect(32, 40), ObjectLayout.arraySize(3, 4));
+    }
+
+    @Test
+    public void linkedListEstimateMatchesAllocation()
+    {
+        final Integer[] values = boxed(COUNT);
+        final Object[] built = new Object[1];
+        final long measured = allocatedBytes(() -> {
+            final LinkedList<Integer> list = new LinkedList<Integer>();
+            for (Integer value : values)
+            {
+                list.addLast(value);
+            }
+            return list;
+        }, built);
+        final long estimate = ((LinkedList<?>) built[0]).estimateBytes();
+        assertEquals(ObjectLayout.objectSize(4, 4, 0, 0) + expect(24, 40) * COUNT, estimate);
+        assertEquals(measured, estimate);
+    }
+
+    @Test
+    public void queueAndStackEstimatesMatchAllocation()
+    {
+        final Integer[] values = boxed(COUNT);
+        final Object[] built = new Object[1];
+        final long queueBytes = allocatedBytes(() -> {
+            final Queue<Integer> queue = new Queue<Integer>();
+            for (Integer value : values)
+            {
+                queue.enqueue(value);
+            }
+            return queue;
+        }, built);
+        assertEquals(queueBytes, ((Queue<?>) built[0]).estimateBytes());
+
+        final long stackBytes = allocatedBytes(() -> {
+            final Stack<Integer> stack = new Stack<Integer>();
+            for (Integer value : values)
+            {
+                stack.push(value);
+            }
+            return stack;
+        }, built);
+        assertEquals(stackBytes, ((Stack<?>) built[0]).estimateBytes());
+    }
+
+    @Test
+    public void arrayDequeEstimateMatchesAllocation()
+    {
+        final Integer[] values = boxed(COUNT);
+        final Object[] built = new Object[1];
+        final long measured = allocatedBytes(() -> {
+            final ArrayDeque<Integer> deque = new ArrayDeque<Integer>(COUNT);
+            deque.addAllLast(values, 0, COUNT);
+            return deque;
+        }, built);
+        assertEquals(measured, ((ArrayDeque<?>) built[0]).estimateBytes());
+    }
+
+    @Test
+    public void redBlackTreeEstimateMatchesAllocation()
+    {
+        final Integer[] values = boxed(COUNT);
+        final Object[] built = new Object[1];
+        final long measured = allocatedBytes(() -> {
+            final RedBlackTree<Integer, Integer> tree = new RedBlackTree<Integer, Integer>();
+            for (Integer value : values)
+            {
+                tree.add(value, value);
+            }
+            return tree;
+        }, built);
+        final long estimate = ((RedBlackTree<?, ?>) built[0]).estimateBytes();
+        assertEquals(measured, estimate);
+
+        final long deep = ((RedBlackTree<Integer, Integer>) built[0]).estimateBytes(
+                key -> ObjectLayout.objectSize(0, 1, 0, 0), value -> 0);
+        assertEquals(estimate + expect(16, 24) * COUNT, deep);
+    }
+}
@@ -0,0 +1,161 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapTest
+{
+    /** A 12 byte record, so offsets are not a power of two apart. */
+    private static final class PointCodec implements RecordCodec<int[]>
+    {
+        @Override
+        public int recordSize()
+        {
+            return 12;
+        }
+
+        @Override
+        public void encode(final int[] obj, final ByteBuffer buffer, final int offset)
+        {
+            buffer.putInt(offset, obj[0]);
+            buffer.putInt(offset + 4, obj[1]);
+            buffer.putInt(offset + 8, obj[2]);
+        }
+
+        @Override
+        public int[] decode(final ByteBuffer buffer, final int offset)
+        {
+            return new int[] {buffer.getInt(offset), buffer.getInt(offset + 4), buffer.getInt(offset + 8)};
+        }
+    }
+
+    @Test
+    public void recordsRoundTripInOrder()
+    {
+        final OffHeapQueue<Long> queue = new OffHeapQueue<Long>(new LongRecordCodec(), 4);
+        final OffHeapStack<Long> stack = new OffHeapStack<Long>(new LongRecordCodec(), 4);
+        final long[] values = {0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 42, 1L << 40, 7};
+        for (long value : values)
+        {
+            queue.enqueue(value);
+            stack.push(value);
+        }
+        assertEquals(values.length, queue.size());
+        assertEquals(0L, queue.peek());
+        assertEquals(7L, stack.peek());
+        for (int i = 0; i < values.length; i++)
+        {
+            assertEquals(values[i], queue.dequeue());
+            assertEquals(values[values.length - 1 - i], stack.pop());
+        }
+        assertNull(queue.dequeue());
+        assertNull(stack.pop());
+        assertNull(queue.peek());
+        assertNull(stack.peek());
+
+        final OffHeapQueue<int[]> points = new OffHeapQueue<int[]>(new PointCodec(), 3);
+        for (int i = 0; i < 10; i++)
+        {
+            points.enqueue(new int[] {i, -i, i * i});
+        }
+        for (int i = 0; i < 10; i++)
+        {
+            final int[] point = points.dequeue();
+            assertEquals(i, point[0]);
+            assertEquals(-i, point[1]);
+            assertEquals(i * i, point[2]);
+        }
+    }
+
+    @Test
+    public void slabsGrowAndAreReleasedAsTheyDrain()
+    {
+        final OffHeapQueue<Long> queue = new OffHeapQueue<Long>(new LongRecordCodec(), 4);
+        for (long i = 0; i < 10; i++)
+        {
+            queue.enqueue(i);
+        }
+        assertEquals(3, queue.slabsHeld());
+        for (long i = 0; i < 8; i++)
+        {
+            assertEquals(i, queue.dequeue());
+        }
+        // Two slabs drained, one kept back as the spare
+        assertEquals(2, queue.slabsHeld());
+        for (long i = 10; i < 16; i++)
+        {
+            queue.enqueue(i);
+        }
+        assertEquals(2, queue.slabsHeld());
+        for (long i = 8; i < 16; i++)
+        {
+            assertEquals(i, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+
+        final OffHeapStack<Long> stack = new OffHeapStack<Long>(new LongRecordCodec(), 4);
+        for (long i = 0; i < 9; i++)
+        {
+            stack.push(i);
+        }
+        assertEquals(3, stack.slabsHeld());
+        for (long i = 8; i >= 4; i--)
+        {
+            assertEquals(i, stack.pop());
+        }
+        // Only one of the two emptied slabs is kept back
+        assertEquals(2, stack.slabsHeld());
+        stack.push(4L);
+        stack.push(5L);
+        assertEquals(2, stack.slabsHeld());
+        assertEquals(5L, stack.pop());
+        assertEquals(5, stack.size());
+    }
+
+    @Test
+    public void makeEmptyKeepsOneSlabAndCloseDropsThemAll()
+    {
+        final OffHeapQueue<Long> queue = new OffHeapQueue<Long>(new LongRecordCodec(), 2);
+        final OffHeapStack<Long> stack = new OffHeapStack<Long>(new LongRecordCodec(), 2);
+        for (long i = 0; i < 5; i++)
+        {
+            queue.enqueue(i);
+            stack.push(i);
+        }
+        queue.makeEmpty();
+        stack.makeEmpty();
+        assertEquals(1, queue.slabsHeld());
+        assertEquals(1, stack.slabsHeld());
+        assertTrue(queue.isEmpty());
+        assertNull(stack.pop());
+
+        queue.enqueue(9L);
+        stack.push(9L);
+        assertEquals(1, queue.slabsHeld());
+        assertEquals(9L, queue.peek());
+        assertEquals(9L, stack.peek());
+
+        queue.close();
+        stack.close();
+        assertEquals(0, queue.slabsHeld());
+        assertEquals(0, stack.slabsHeld());
+        assertEquals(0, queue.size());
+        assertNull(stack.pop());
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(1L));
+        assertThrows(IllegalStateException.class, () -> stack.push(1L));
+    }
+
+    @Test
+    public void slabsMustFitInABuffer()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapQueue<Long>(new LongRecordCodec(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OffHeapStack<Long>(new LongRecordCodec(), Integer.MAX_VALUE / 4));
+    }
+}
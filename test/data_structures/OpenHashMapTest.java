@@ -0,0 +1,171 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class OpenHashMapTest
+{
+    /** A key whose hash code is chosen by the test, so keys can collide. */
+    private static final class Key
+    {
+        final int id, hash;
+
+        Key(final int id, final int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object other)
+        {
+            return other instanceof Key && ((Key) other).id == id;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Key" + id;
+        }
+    }
+
+    /**
+     * Finds a hash code that lands in the given slot of a 16 slot table.
+     */
+    private static int hashForSlot(final int slot)
+    {
+        int hash = 1;
+        while ((Hashing.spread(hash) & 15) != slot)
+        {
+            hash++;
+        }
+        return hash;
+    }
+
+    private static <K> List<K> keysOf(final OpenHashMap<K, ?> map)
+    {
+        final List<K> keys = new ArrayList<K>();
+        for (K key : map)
+        {
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    @Test
+    public void insertDisplacesEntriesCloserToHome()
+    {
+        final OpenHashMap<Key, String> map = new OpenHashMap<Key, String>();
+        final Key a = new Key(1, hashForSlot(3));
+        final Key c = new Key(3, hashForSlot(4));
+        final Key b = new Key(2, hashForSlot(3));
+        map.add(a, "a");
+        map.add(c, "c");
+        // b probes past a into slot 4, where c is at home and so has probed
+        // less; b takes the slot and c moves on to slot 5
+        map.add(b, "b");
+
+        assertEquals(List.of(a, b, c), keysOf(map));
+        assertEquals("a", map.getValue(a));
+        assertEquals("b", map.getValue(b));
+        assertEquals("c", map.getValue(c));
+        assertFalse(map.contains(new Key(4, hashForSlot(3))));
+        assertFalse(map.contains(new Key(5, hashForSlot(5))));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void lookupsMatchHashMapAcrossResizes()
+    {
+        final OpenHashMap<Key, Integer> map = new OpenHashMap<Key, Integer>(4);
+        final Map<Key, Integer> expected = new HashMap<Key, Integer>();
+        final Random random = new Random(47);
+        for (int i = 0; i < 5000; i++)
+        {
+            // Few distinct hash codes, so long runs are carried through
+            // every resize
+            final int id = random.nextInt(10000);
+            final Key key = new Key(id, id % 97);
+            map.add(key, i);
+            expected.putIfAbsent(key, i);
+            assertEquals(expected.size(), map.size());
+        }
+        for (int id = 0; id < 10000; id++)
+        {
+            final Key key = new Key(id, id % 97);
+            assertEquals(expected.containsKey(key), map.contains(key), "key " + id);
+            assertEquals(expected.get(key), map.getValue(key), "key " + id);
+        }
+    }
+
+    @Test
+    public void duplicateAddKeepsTheFirstValue()
+    {
+        final OpenHashMap<String, Integer> map = new OpenHashMap<String, Integer>();
+        map.add("one", 1);
+        map.add("one", 2);
+        map.add(new String("one"), 3);
+        assertEquals(1, map.size());
+        assertEquals(1, map.getValue("one"));
+
+        map.add("none", null);
+        assertTrue(map.contains("none"));
+        assertNull(map.getValue("none"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void nullKeysAreRejected()
+    {
+        final OpenHashMap<String, Integer> map = new OpenHashMap<String, Integer>();
+        assertThrows(NullPointerException.class, () -> map.add(null, 1));
+        assertThrows(NullPointerException.class, () -> map.contains(null));
+        assertThrows(NullPointerException.class, () -> map.getValue(null));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void iterationVisitsEveryKeyOnce()
+    {
+        final OpenHashMap<Integer, Integer> map = new OpenHashMap<Integer, Integer>();
+        assertFalse(map.iterator().hasNext());
+
+        final Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < 1000; i += 3)
+        {
+            map.add(i, -i);
+            expected.add(i);
+        }
+        final List<Integer> keys = keysOf(map);
+        assertEquals(expected.size(), keys.size());
+        assertEquals(expected, new HashSet<Integer>(keys));
+
+        final Iterator<Integer> it = map.iterator();
+        while (it.hasNext())
+        {
+            it.next();
+        }
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+}
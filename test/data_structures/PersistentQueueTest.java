@@ -0,0 +1,175 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistentQueueTest
+{
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    File directory;
+
+    private static byte[] record(final int value, final int length)
+    {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte) (value + i);
+        }
+        return bytes;
+    }
+
+    private static byte[] bytes(final ByteBuffer buffer)
+    {
+        final byte[] out = new byte[buffer.remaining()];
+        buffer.get(out);
+        return out;
+    }
+
+    private File segment(final long index)
+    {
+        return new File(directory, String.format("%020d.segment", index));
+    }
+
+    @Test
+    public void recordsSurviveReopenAcrossSegments() throws IOException
+    {
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            for (int i = 0; i < 100; i++)
+            {
+                queue.enqueue(record(i, 100));
+            }
+            assertArrayEquals(record(0, 100), bytes(queue.dequeue()));
+            queue.flush();
+        }
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            assertEquals(99, queue.size());
+            for (int i = 1; i < 100; i++)
+            {
+                assertArrayEquals(record(i, 100), bytes(queue.dequeue()));
+            }
+            assertNull(queue.dequeue());
+            assertTrue(queue.isEmpty());
+        }
+        assertTrue(!segment(0).exists());
+    }
+
+    @Test
+    public void recoveryStopsAtEndMarkerBeforeStaleBytes() throws IOException
+    {
+        final File meta = new File(directory, "queue.meta");
+        final byte[] staleMeta;
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            staleMeta = Files.readAllBytes(meta.toPath());
+            // Leftovers that look like a run of 4 byte records
+            try (RandomAccessFile file = new RandomAccessFile(segment(0), "rw"))
+            {
+                for (int offset = 0; offset < SEGMENT_SIZE; offset += 4)
+                {
+                    file.writeInt(5);
+                }
+            }
+            for (int i = 0; i < 3; i++)
+            {
+                queue.enqueue(record(i, 12));
+            }
+        }
+        // As if the process died before the metadata reached the file
+        Files.write(meta.toPath(), staleMeta);
+
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            assertEquals(3, queue.size());
+            for (int i = 0; i < 3; i++)
+            {
+                assertArrayEquals(record(i, 12), bytes(queue.dequeue()));
+            }
+            assertNull(queue.dequeue());
+        }
+    }
+
+    @Test
+    public void sizeFollowsThePositionsAfterACrash() throws IOException
+    {
+        final File meta = new File(directory, "queue.meta");
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            for (int i = 0; i < 5; i++)
+            {
+                queue.enqueue(record(i, 100));
+            }
+            queue.dequeue();
+        }
+        final byte[] staleMeta = Files.readAllBytes(meta.toPath());
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            // Enough to roll into a second segment
+            for (int i = 5; i < 60; i++)
+            {
+                queue.enqueue(record(i, 100));
+            }
+            queue.dequeue();
+            queue.dequeue();
+            assertEquals(57, queue.size());
+        }
+        // As if the process died after saving the new read and write
+        // positions, the first 24 bytes, but before anything else in the
+        // metadata was updated
+        final byte[] crashedMeta = staleMeta.clone();
+        System.arraycopy(Files.readAllBytes(meta.toPath()), 0, crashedMeta, 0, 24);
+        Files.write(meta.toPath(), crashedMeta);
+
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            assertEquals(57, queue.size());
+            for (int i = 3; i < 60; i++)
+            {
+                assertArrayEquals(record(i, 100), bytes(queue.dequeue()));
+            }
+            assertNull(queue.dequeue());
+            assertEquals(0, queue.size());
+        }
+    }
+
+    @Test
+    public void closedQueueRejectsOperations() throws IOException
+    {
+        final PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE);
+        queue.enqueue(record(1, 8));
+        queue.close();
+        queue.close();
+
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(record(2, 8)));
+        assertThrows(IllegalStateException.class, () -> queue.dequeue());
+        assertThrows(IllegalStateException.class, () -> queue.flush());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void openIgnoresFilesThatAreNotSegments() throws IOException
+    {
+        assertTrue(new File(directory, "notes.segment").createNewFile());
+        try (PersistentQueue queue = new PersistentQueue(directory, SEGMENT_SIZE))
+        {
+            queue.enqueue(record(3, 8));
+            assertArrayEquals(record(3, 8), bytes(queue.dequeue()));
+        }
+        assertTrue(new File(directory, "notes.segment").exists());
+    }
+}
@@ -0,0 +1,90 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PriorityQueueTest
+{
+    @Test
+    public void dequeuesInOrderForEachArity()
+    {
+        for (int arity = 2; arity <= 8; arity++)
+        {
+            final PriorityQueue<Integer> queue = new PriorityQueue<Integer>(arity, null);
+            final List<Integer> expected = new ArrayList<Integer>();
+            final Random random = new Random(arity);
+            for (int i = 0; i < 1000; i++)
+            {
+                final int value = random.nextInt(500);
+                queue.enqueue(value);
+                expected.add(value);
+            }
+            Collections.sort(expected);
+            for (Integer value : expected)
+            {
+                assertEquals(value, queue.peek());
+                assertEquals(value, queue.dequeue());
+            }
+            assertTrue(queue.isEmpty());
+            assertNull(queue.dequeue());
+        }
+    }
+
+    @Test
+    public void decreaseKeyMovesEntryForward()
+    {
+        final PriorityQueue<Integer> queue = new PriorityQueue<Integer>();
+        final List<PriorityQueue.Handle<Integer>> handles = new ArrayList<PriorityQueue.Handle<Integer>>();
+        for (int i = 0; i < 100; i++)
+        {
+            handles.add(queue.enqueue(1000 + i));
+        }
+        queue.decreaseKey(handles.get(57), 5);
+        queue.decreaseKey(handles.get(3), 7);
+
+        assertEquals(5, queue.dequeue());
+        assertFalse(handles.get(57).isQueued());
+        assertEquals(5, handles.get(57).get());
+        assertEquals(7, queue.dequeue());
+        int previous = Integer.MIN_VALUE;
+        while (!queue.isEmpty())
+        {
+            final int value = queue.dequeue();
+            assertTrue(value >= previous);
+            previous = value;
+        }
+    }
+
+    @Test
+    public void decreaseKeyRejectsForeignAndDequeuedHandles()
+    {
+        final PriorityQueue<Integer> queue = new PriorityQueue<Integer>();
+        final PriorityQueue<Integer> other = new PriorityQueue<Integer>();
+        for (int i = 0; i < 20; i++)
+        {
+            other.enqueue(i);
+        }
+        final PriorityQueue.Handle<Integer> foreign = other.enqueue(50);
+        final PriorityQueue.Handle<Integer> first = queue.enqueue(1);
+        queue.enqueue(2);
+
+        assertThrows(NoSuchElementException.class, () -> queue.decreaseKey(foreign, 0));
+        assertEquals(1, queue.dequeue());
+        assertThrows(NoSuchElementException.class, () -> queue.decreaseKey(first, 0));
+        assertThrows(IllegalArgumentException.class, () -> other.decreaseKey(foreign, 60));
+        assertEquals(1, queue.size());
+        assertEquals(21, other.size());
+        assertEquals(2, queue.peek());
+    }
+}
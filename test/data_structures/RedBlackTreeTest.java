@@ -0,0 +1,49 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class RedBlackTreeTest
+{
+    @Test
+    public void iteratorReturnsKeysInOrder()
+    {
+        final RedBlackTree<Integer, String> tree = new RedBlackTree<Integer, String>();
+        for (int key : new int[] { 5, 2, 8, 1, 9, 3 })
+        {
+            tree.add(key, "v" + key);
+        }
+        final List<Integer> keys = new ArrayList<Integer>();
+        for (Integer key : tree)
+        {
+            keys.add(key);
+        }
+        assertEquals(List.of(1, 2, 3, 5, 8, 9), keys);
+    }
+
+    @Test
+    public void iteratorOfEmptyTreeHasNoKeys()
+    {
+        assertFalse(new RedBlackTree<Integer, String>().iterator().hasNext());
+    }
+
+    @Test
+    public void everyIteratorStartsFromTheFirstKey()
+    {
+        final RedBlackTree<Integer, Integer> tree = new RedBlackTree<Integer, Integer>();
+        tree.add(1, 1);
+        tree.add(2, 2);
+        final Iterator<Integer> first = tree.iterator();
+        first.next();
+        final Iterator<Integer> second = tree.iterator();
+        assertTrue(second.hasNext());
+        assertEquals(1, second.next());
+    }
+}
@@ -0,0 +1,103 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Drives the circular-array structures through wrap-around and growth,
+ * checking them against java.util.ArrayDeque.
+ */
+public class RingBuffersTest
+{
+    @Test
+    public void capacityIsRoundedUpToAPowerOfTwo()
+    {
+        assertEquals(1, RingBuffers.capacityFor(0));
+        assertEquals(1, RingBuffers.capacityFor(1));
+        assertEquals(4, RingBuffers.capacityFor(3));
+        assertEquals(16, RingBuffers.capacityFor(16));
+        assertThrows(IllegalArgumentException.class, () -> RingBuffers.capacityFor(-1));
+        assertThrows(IllegalArgumentException.class, () -> RingBuffers.capacityFor((1 << 30) + 1));
+    }
+
+    @Test
+    public void unwrapPutsTheHeadAtIndexZero()
+    {
+        final int[] source = { 3, 4, 1, 2 };
+        final int[] target = new int[8];
+        RingBuffers.unwrap(source, 2, target);
+        assertEquals("[1, 2, 3, 4, 0, 0, 0, 0]", java.util.Arrays.toString(target));
+    }
+
+    @Test
+    public void structuresMatchJavaUtilArrayDeque()
+    {
+        final Random random = new Random(7);
+        final java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<Integer>();
+        final ArrayDeque<Integer> deque = new ArrayDeque<Integer>(1);
+        final IntList ints = new IntList(1);
+        final LongQueue longs = new LongQueue(1);
+        final java.util.ArrayDeque<Long> expectedLongs = new java.util.ArrayDeque<Long>();
+        for (int i = 0; i < 20000; i++)
+        {
+            final int op = random.nextInt(5);
+            if (op < 2)
+            {
+                expected.addFirst(i);
+                deque.addFirst(i);
+                ints.addFirst(i);
+            }
+            else if (op < 3)
+            {
+                expected.addLast(i);
+                deque.addLast(i);
+                ints.addLast(i);
+            }
+            else if (!expected.isEmpty())
+            {
+                final Integer value = op == 3 ? expected.pollFirst() : expected.pollLast();
+                assertEquals(value, op == 3 ? deque.removeFirst() : deque.removeLast());
+                assertEquals((int) value, op == 3 ? ints.removeFirst() : ints.removeLast());
+            }
+            if (random.nextBoolean())
+            {
+                longs.enqueue(i);
+                expectedLongs.addLast((long) i);
+            }
+            else if (!expectedLongs.isEmpty())
+            {
+                assertEquals((long) expectedLongs.pollFirst(), longs.dequeue());
+            }
+            assertEquals(expected.size(), deque.size());
+            assertEquals(expected.size(), ints.size());
+            assertEquals(expectedLongs.size(), longs.size());
+        }
+
+        final PrimitiveIterator.OfInt intIterator = ints.iterator();
+        for (Integer value : expected)
+        {
+            assertEquals((int) value, intIterator.nextInt());
+        }
+        final PrimitiveIterator.OfLong longIterator = longs.iterator();
+        for (Long value : expectedLongs)
+        {
+            assertEquals((long) value, longIterator.nextLong());
+        }
+        assertEquals(expected.peekFirst(), deque.peekFirst());
+        assertEquals(expected.peekLast(), deque.peekLast());
+    }
+
+    @Test
+    public void emptyPrimitiveStructuresThrow()
+    {
+        assertThrows(NoSuchElementException.class, () -> new IntList().removeFirst());
+        assertThrows(NoSuchElementException.class, () -> new IntStack(4).pop());
+        assertThrows(NoSuchElementException.class, () -> new LongQueue().peek());
+    }
+}
@@ -0,0 +1,149 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ShardedQueueTest
+{
+    private static final int PRODUCERS = 4, CONSUMERS = 4, PER_PRODUCER = 20000;
+
+    @Test
+    public void fifoOrderingKeepsOneOrderAcrossLanes()
+    {
+        final ShardedQueue<Integer> queue = new ShardedQueue<Integer>(8, ShardedQueue.LaneSelection.HASH,
+                ShardedQueue.DequeueMode.WORK_STEALING, ShardedQueue.Ordering.FIFO);
+        final java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<Integer>();
+        final Random random = new Random(3);
+        for (int i = 0; i < 10000; i++)
+        {
+            if (random.nextInt(3) > 0)
+            {
+                queue.enqueue(i);
+                expected.addLast(i);
+            }
+            else
+            {
+                assertEquals(expected.pollFirst(), queue.dequeue());
+            }
+            assertEquals(expected.size(), queue.size());
+        }
+        while (!expected.isEmpty())
+        {
+            assertEquals(expected.pollFirst(), queue.dequeue());
+        }
+        assertNull(queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void fifoHistoryDeliversEachElementOnceInProducerOrder() throws Exception
+    {
+        runHistory(new ShardedQueue<Long>(4, ShardedQueue.LaneSelection.THREAD,
+                ShardedQueue.DequeueMode.WORK_STEALING, ShardedQueue.Ordering.FIFO));
+    }
+
+    @Test
+    public void roundRobinHistoryDeliversEachElementOnceInProducerOrder() throws Exception
+    {
+        runHistory(new ShardedQueue<Long>(4, ShardedQueue.LaneSelection.THREAD,
+                ShardedQueue.DequeueMode.ROUND_ROBIN));
+    }
+
+    /**
+     * Producers enqueue their own increasing sequence numbers while consumers
+     * dequeue. Every element must come out exactly once. A producer's
+     * elements share a lane with THREAD selection, and share one order with
+     * FIFO, so each consumer must see them in increasing order either way.
+     */
+    private static void runHistory(final ShardedQueue<Long> queue) throws Exception
+    {
+        final AtomicInteger[] seen = new AtomicInteger[PRODUCERS * PER_PRODUCER];
+        for (int i = 0; i < seen.length; i++)
+        {
+            seen[i] = new AtomicInteger();
+        }
+        final AtomicInteger consumed = new AtomicInteger();
+        final AtomicReference<String> failure = new AtomicReference<String>();
+        final CyclicBarrier start = new CyclicBarrier(PRODUCERS + CONSUMERS);
+        final Thread[] threads = new Thread[PRODUCERS + CONSUMERS];
+
+        for (int p = 0; p < PRODUCERS; p++)
+        {
+            final long producer = p;
+            threads[p] = new Thread(() -> {
+                await(start);
+                for (int seq = 0; seq < PER_PRODUCER; seq++)
+                {
+                    queue.enqueue((producer << 32) | seq);
+                }
+            });
+        }
+        for (int c = 0; c < CONSUMERS; c++)
+        {
+            threads[PRODUCERS + c] = new Thread(() -> {
+                final long[] lastSeq = new long[PRODUCERS];
+                java.util.Arrays.fill(lastSeq, -1);
+                await(start);
+                while (consumed.get() < PRODUCERS * PER_PRODUCER)
+                {
+                    final Long value = queue.dequeue();
+                    if (value == null)
+                    {
+                        Thread.yield();
+                        continue;
+                    }
+                    consumed.incrementAndGet();
+                    final int producer = (int) (value >>> 32);
+                    final int seq = (int) (long) value;
+                    if (seq <= lastSeq[producer])
+                    {
+                        failure.compareAndSet(null, "producer " + producer + " out of order: " + seq
+                                + " after " + lastSeq[producer]);
+                    }
+                    lastSeq[producer] = seq;
+                    if (seen[producer * PER_PRODUCER + seq].incrementAndGet() != 1)
+                    {
+                        failure.compareAndSet(null, "duplicate " + producer + "/" + seq);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join(60000);
+            assertTrue(!thread.isAlive(), "stress test did not finish");
+        }
+
+        assertNull(failure.get(), failure.get());
+        for (int i = 0; i < seen.length; i++)
+        {
+            assertEquals(1, seen[i].get(), "element " + i);
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+    }
+
+    private static void await(final CyclicBarrier barrier)
+    {
+        try
+        {
+            barrier.await();
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SpscQueueTest
+{
+    @Test
+    public void capacityIsRoundedUpAndEnforced()
+    {
+        final SpscQueue<Integer> queue = new SpscQueue<Integer>(3);
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+        assertTrue(queue.isFull());
+        assertFalse(queue.offer(4));
+        assertEquals(0, queue.peek());
+        assertEquals(0, queue.dequeue());
+        assertTrue(queue.offer(4));
+    }
+
+    @Test
+    public void fillAndDrainMoveBatchesInOrder()
+    {
+        final SpscQueue<Integer> queue = new SpscQueue<Integer>(8);
+        final AtomicInteger next = new AtomicInteger();
+        assertEquals(5, queue.fill(next::getAndIncrement, 5));
+        assertEquals(3, queue.fill(next::getAndIncrement, 10));
+        assertEquals(0, queue.fill(next::getAndIncrement, 10));
+
+        final List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(6, queue.drain(drained::add, 6));
+        assertEquals(2, queue.drain(drained::add, 6));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), drained);
+        assertEquals(0, queue.drain(drained::add, 6));
+        assertNull(queue.dequeue());
+    }
+
+    @Test
+    public void negativeBatchSizesAreRejected()
+    {
+        final SpscQueue<Integer> queue = new SpscQueue<Integer>(4);
+        queue.offer(1);
+        assertThrows(IllegalArgumentException.class, () -> queue.fill(() -> 2, -1));
+        assertThrows(IllegalArgumentException.class, () -> queue.drain(x -> { }, -1));
+        assertEquals(1, queue.size());
+        assertEquals(1, queue.dequeue());
+    }
+
+    @Test
+    public void consumerSeesEveryElementInOrder() throws InterruptedException
+    {
+        final int count = 500000;
+        final SpscQueue<Integer> queue = new SpscQueue<Integer>(1024);
+        final Thread producer = new Thread(() -> {
+            int next = 0;
+            while (next < count)
+            {
+                if (next % 3 == 0)
+                {
+                    final int start = next;
+                    final int[] i = { 0 };
+                    next += queue.fill(() -> start + i[0]++, Math.min(64, count - next));
+                }
+                else if (queue.offer(next))
+                {
+                    next++;
+                }
+                else
+                {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        final int[] expected = { 0 };
+        final boolean[] ordered = { true };
+        while (expected[0] < count)
+        {
+            if (queue.isEmpty())
+            {
+                Thread.yield();
+            }
+            else if (expected[0] % 2 == 0)
+            {
+                queue.drain(value -> ordered[0] &= value == expected[0]++, 64);
+            }
+            else
+            {
+                ordered[0] &= queue.dequeue() == expected[0]++;
+            }
+        }
+        producer.join();
+        assertTrue(ordered[0]);
+        assertTrue(queue.isEmpty());
+    }
+}
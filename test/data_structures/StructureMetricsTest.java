@@ -0,0 +1,70 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+import org.junit.jupiter.api.Test;
+
+public class StructureMetricsTest
+{
+    @Test
+    public void registeredMetricsCanBeReadAndReset() throws JMException
+    {
+        final StructureMetrics metrics = new StructureMetrics(1, "add", "remove");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = metrics.register("data_structures:type=Test,name=registered");
+        try
+        {
+            assertTrue(server.isRegistered(name));
+            for (int i = 0; i < 3; i++)
+            {
+                metrics.end(0, metrics.begin(0));
+            }
+            metrics.begin(1);
+            metrics.size(42);
+
+            assertEquals(3L, server.getAttribute(name, "add.count"));
+            assertEquals(1L, server.getAttribute(name, "remove.count"));
+            assertEquals(42L, server.getAttribute(name, "peakSize"));
+            final List<Attribute> attributes =
+                    server.getAttributes(name, new String[] {"add.count", "missing", "peakSize"}).asList();
+            assertEquals(2, attributes.size());
+            assertEquals("add.count", attributes.get(0).getName());
+            assertEquals(3L, attributes.get(0).getValue());
+
+            final MBeanAttributeInfo[] info = server.getMBeanInfo(name).getAttributes();
+            assertEquals(metrics.snapshot().size(), info.length);
+            assertThrows(AttributeNotFoundException.class, () -> server.getAttribute(name, "missing"));
+
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "add.count"));
+            assertEquals(0L, server.getAttribute(name, "peakSize"));
+        }
+        finally
+        {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void unknownOperationIsAReflectionError()
+    {
+        final StructureMetrics metrics = new StructureMetrics("add");
+        final ReflectionException e = assertThrows(ReflectionException.class,
+                () -> metrics.invoke("resize", null, null));
+        assertTrue(e.getTargetException() instanceof NoSuchMethodException);
+        assertEquals("resize", e.getTargetException().getMessage());
+    }
+}
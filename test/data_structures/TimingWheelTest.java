@@ -0,0 +1,181 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest
+{
+    /**
+     * Moves the wheel forward one tick at a time and checks every object,
+     * which is its own deadline, expires on exactly that tick.
+     *
+     * @return the objects in the order they expired
+     */
+    private static List<Long> run(final TimingWheel<Long> wheel, final long ticks)
+    {
+        final List<Long> expired = new ArrayList<Long>();
+        for (long i = 0; i < ticks; i++)
+        {
+            wheel.tick(deadline ->
+            {
+                assertEquals(wheel.now(), deadline);
+                expired.add(deadline);
+            });
+        }
+        return expired;
+    }
+
+    private static TimingWheel.Timeout<Long> scheduleAt(final TimingWheel<Long> wheel, final long deadline)
+    {
+        return wheel.schedule(deadline, deadline - wheel.now());
+    }
+
+    @Test
+    public void expiresInDeadlineOrderAcrossSlotBoundaries()
+    {
+        // Four buckets a level and two levels, so the wheel reaches 16
+        // ticks ahead and everything past that goes to the overflow tree
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 2);
+        final List<Long> deadlines = new ArrayList<Long>();
+        for (long deadline = 1; deadline <= 70; deadline++)
+        {
+            deadlines.add(deadline);
+            deadlines.add(deadline);
+        }
+        Collections.shuffle(deadlines, new Random(48));
+        for (Long deadline : deadlines)
+        {
+            scheduleAt(wheel, deadline);
+        }
+        assertEquals(140, wheel.size());
+
+        final List<Long> expired = run(wheel, 70);
+        Collections.sort(deadlines);
+        assertEquals(deadlines, expired);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void cascadesFromUpperLevelsOnTheRightTick()
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 3);
+        run(wheel, 3);
+        // From tick 3 the bottom level's turn has ended, so 4, 7 and 15
+        // go on level one and 17 and 63 on level two, and each has to be
+        // cascaded down before it expires
+        for (long deadline : new long[] {63, 17, 15, 7, 4})
+        {
+            scheduleAt(wheel, deadline);
+        }
+        assertEquals(List.of(4L), run(wheel, 1));
+        assertEquals(List.of(7L, 15L), run(wheel, 12));
+        assertEquals(List.of(17L, 63L), run(wheel, 48));
+
+        // Scheduled part way through a turn, on level two again
+        run(wheel, 2);
+        scheduleAt(wheel, 80);
+        assertEquals(List.of(80L), run(wheel, 15));
+    }
+
+    @Test
+    public void overflowTimersMoveBackIntoTheWheel()
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 2);
+        final List<Long> deadlines = new ArrayList<Long>();
+        for (long deadline = 17; deadline < 2000; deadline += 37)
+        {
+            scheduleAt(wheel, deadline);
+            deadlines.add(deadline);
+        }
+        scheduleAt(wheel, 5000);
+        deadlines.add(5000L);
+        final List<Long> expired = run(wheel, 5000);
+        assertEquals(deadlines, expired);
+        assertTrue(wheel.isEmpty());
+
+        // Turns emptied from the tree can be used again
+        scheduleAt(wheel, 5100);
+        assertEquals(List.of(5100L), run(wheel, 100));
+    }
+
+    @Test
+    public void cancelledTimeoutsNeverExpire()
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 2);
+        final TimingWheel.Timeout<Long> near = scheduleAt(wheel, 2);
+        final TimingWheel.Timeout<Long> far = scheduleAt(wheel, 40);
+        final TimingWheel.Timeout<Long> kept = scheduleAt(wheel, 9);
+        assertTrue(near.isPending());
+
+        assertTrue(wheel.cancel(near));
+        assertTrue(wheel.cancel(far));
+        assertFalse(wheel.cancel(near));
+        assertTrue(near.isCancelled());
+        assertFalse(near.isPending());
+        assertEquals(1, wheel.size());
+
+        assertEquals(List.of(9L), run(wheel, 50));
+        assertFalse(kept.isPending());
+        assertFalse(kept.isCancelled());
+        assertFalse(wheel.cancel(kept));
+        assertEquals(0, wheel.cancelledHeld());
+
+        final TimingWheel.Timeout<Long> foreign = new TimingWheel<Long>().schedule(1L, 1);
+        assertThrows(NoSuchElementException.class, () -> wheel.cancel(foreign));
+    }
+
+    @Test
+    public void purgeDropsCancelledTimeoutsEverywhere()
+    {
+        // Purging starts once cancelled timeouts outnumber both the pending
+        // ones and the 8 buckets
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 2);
+        final List<TimingWheel.Timeout<Long>> timeouts = new ArrayList<TimingWheel.Timeout<Long>>();
+        for (long deadline = 1; deadline <= 100; deadline++)
+        {
+            timeouts.add(scheduleAt(wheel, deadline));
+        }
+        final List<Long> kept = new ArrayList<Long>();
+        for (TimingWheel.Timeout<Long> timeout : timeouts)
+        {
+            if (timeout.get() % 10 == 0)
+            {
+                kept.add(timeout.get());
+            }
+            else
+            {
+                wheel.cancel(timeout);
+            }
+            assertTrue(wheel.cancelledHeld() <= Math.max(wheel.size(), 8));
+        }
+        assertEquals(10, wheel.size());
+        assertTrue(wheel.cancelledHeld() < 90);
+
+        assertEquals(kept, run(wheel, 100));
+        assertEquals(0, wheel.cancelledHeld());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void delaysAreRoundedAndChecked()
+    {
+        final TimingWheel<Long> wheel = new TimingWheel<Long>(2, 2);
+        run(wheel, 5);
+        assertEquals(6, wheel.schedule(6L, 0).deadline());
+        assertEquals(Long.MAX_VALUE, wheel.schedule(0L, Long.MAX_VALUE).deadline());
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(1L, -1));
+        assertThrows(IllegalArgumentException.class, () -> wheel.advance(-1, value -> { }));
+        assertEquals(1, wheel.advance(1, value -> { }));
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,88 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class UnrolledLinkedListTest
+{
+    @Test
+    public void matchesJavaUtilArrayDeque()
+    {
+        final Random random = new Random(3);
+        for (int chunkSize : new int[] { 1, 2, 5, 32 })
+        {
+            final UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>(chunkSize);
+            final java.util.ArrayDeque<Integer> expected = new java.util.ArrayDeque<Integer>();
+            for (int i = 0; i < 20000; i++)
+            {
+                switch (random.nextInt(4))
+                {
+                    case 0:
+                        list.addFirst(i);
+                        expected.addFirst(i);
+                        break;
+                    case 1:
+                        list.addLast(i);
+                        expected.addLast(i);
+                        break;
+                    case 2:
+                        assertEquals(expected.pollFirst(), list.removeFirst());
+                        break;
+                    default:
+                        assertEquals(expected.pollLast(), list.removeLast());
+                        break;
+                }
+                assertEquals(expected.size(), list.size());
+                assertEquals(expected.peekFirst(), list.peekFirst());
+                assertEquals(expected.peekLast(), list.peekLast());
+            }
+            final Iterator<Integer> iterator = list.iterator();
+            for (Integer value : expected)
+            {
+                assertEquals(value, iterator.next());
+            }
+            assertTrue(!iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void churnAcrossANodeBoundaryReusesTheSpareNode()
+    {
+        final UnrolledLinkedList<Integer> list = new UnrolledLinkedList<Integer>(32);
+        final Integer value = 1000;
+        for (int i = 0; i < 32; i++)
+        {
+            list.addFirst(value);
+            list.addLast(value);
+        }
+        churn(list, value, 1000);
+
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long id = Thread.currentThread().getId();
+        final long before = threads.getThreadAllocatedBytes(id);
+        churn(list, value, 100000);
+        final long allocated = threads.getThreadAllocatedBytes(id) - before;
+
+        // Without spares each step would allocate a node and a 32-slot array
+        assertTrue(allocated < 100000, "allocated " + allocated + " bytes");
+        assertEquals(64, list.size());
+    }
+
+    private static void churn(final UnrolledLinkedList<Integer> list, final Integer value, final int steps)
+    {
+        for (int i = 0; i < steps; i++)
+        {
+            list.addFirst(value);
+            list.addLast(value);
+            list.removeFirst();
+            list.removeLast();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package data_structures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkStealingExecutorTest
+{
+    private static final class Fibonacci extends WorkStealingExecutor.Task<Long>
+    {
+        private final int n;
+
+        Fibonacci(final int n)
+        {
+            this.n = n;
+        }
+
+        @Override
+        protected Long compute()
+        {
+            if (n < 2)
+            {
+                return (long) n;
+            }
+            final Fibonacci first = new Fibonacci(n - 1);
+            first.fork();
+            final long second = new Fibonacci(n - 2).compute();
+            return first.join() + second;
+        }
+    }
+
+    private static List<Thread> workers()
+    {
+        final List<Thread> found = new ArrayList<Thread>();
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if (thread.getName().startsWith("work-stealing-worker-") && thread.isAlive())
+            {
+                found.add(thread);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    public void computesRecursiveTasks()
+    {
+        final WorkStealingExecutor pool = new WorkStealingExecutor(4);
+        try
+        {
+            assertEquals(6765L, pool.invoke(new Fibonacci(20)));
+            assertEquals(832040L, pool.invoke(new Fibonacci(30)));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void idleWorkersParkUntilWorkArrives() throws InterruptedException
+    {
+        final WorkStealingExecutor pool = new WorkStealingExecutor(3);
+        try
+        {
+            assertEquals(55L, pool.invoke(new Fibonacci(10)));
+            boolean allWaiting = false;
+            for (int i = 0; i < 200 && !allWaiting; i++)
+            {
+                Thread.sleep(10);
+                allWaiting = true;
+                for (Thread worker : workers())
+                {
+                    allWaiting &= worker.getState() == Thread.State.WAITING;
+                }
+            }
+            assertTrue(allWaiting, "idle workers should park without a timeout");
+            assertEquals(6765L, pool.invoke(new Fibonacci(20)));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /** Holds its worker until released, so later tasks stay queued. */
+    private static final class Blocker extends WorkStealingExecutor.Task<String>
+    {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<WorkStealingExecutor.Task<String>> forked = new ArrayList<WorkStealingExecutor.Task<String>>();
+        private final int forks;
+
+        Blocker(final int forks)
+        {
+            this.forks = forks;
+        }
+
+        @Override
+        protected String compute()
+        {
+            for (int i = 0; i < forks; i++)
+            {
+                final WorkStealingExecutor.Task<String> child = constant("child");
+                forked.add(child);
+                child.fork();
+            }
+            started.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (InterruptedException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            return "blocker";
+        }
+    }
+
+    private static WorkStealingExecutor.Task<String> constant(final String value)
+    {
+        return new WorkStealingExecutor.Task<String>()
+        {
+            @Override
+            protected String compute()
+            {
+                return value;
+            }
+        };
+    }
+
+    private static void assertCancelled(final WorkStealingExecutor.Task<String> task)
+    {
+        final RuntimeException e = assertThrows(RuntimeException.class, task::join);
+        assertTrue(e.getCause() instanceof CancellationException, "cause was " + e.getCause());
+        assertTrue(task.isDone());
+    }
+
+    @Test
+    public void shutdownReleasesJoinersOfQueuedTasks() throws InterruptedException
+    {
+        final WorkStealingExecutor pool = new WorkStealingExecutor(1);
+        final Blocker blocker = new Blocker(2);
+        pool.submit(blocker);
+        final WorkStealingExecutor.Task<String> queued = pool.submit(constant("queued"));
+        blocker.started.await();
+
+        pool.shutdown();
+        assertThrows(IllegalStateException.class, () -> pool.submit(constant("late")));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertCancelled(queued));
+
+        // The forked children sit in the worker's own deque until the
+        // worker stops and cancels them
+        assertFalse(blocker.forked.get(0).isDone());
+        blocker.release.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+        {
+            assertEquals("blocker", blocker.join());
+            for (WorkStealingExecutor.Task<String> child : blocker.forked)
+            {
+                assertCancelled(child);
+            }
+        });
+    }
+
+    @Test
+    public void externalJoinWaitsForSlowTask()
+    {
+        final WorkStealingExecutor pool = new WorkStealingExecutor(2);
+        try
+        {
+            final WorkStealingExecutor.Task<String> slow = pool.submit(new WorkStealingExecutor.Task<String>()
+            {
+                @Override
+                protected String compute()
+                {
+                    try
+                    {
+                        Thread.sleep(100);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        throw new IllegalStateException(e);
+                    }
+                    return "done";
+                }
+            });
+            Thread.currentThread().interrupt();
+            assertEquals("done", slow.join());
+            assertTrue(Thread.interrupted(), "join should keep the caller's interrupt status");
+            assertTrue(slow.isDone());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}